@@ -0,0 +1,64 @@
+package ro.robert.store.management.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ro.robert.store.management.annotation.TrackExecutionTime;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead {@link ExecutionTimeTrackingAspect} adds to an annotated method, compared to
+ * calling the same method directly, with and without per-call logging. Appenders are detached so
+ * the numbers exclude console I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionTimeTrackingAspectBenchmark {
+
+    @Param({"false", "true"})
+    private boolean loggingEnabled;
+
+    private TrackedOperation direct;
+    private TrackedOperation proxied;
+
+    @Setup
+    public void setUp() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).detachAndStopAllAppenders();
+        loggerContext.getLogger(ExecutionTimeTrackingAspect.class).setLevel(Level.INFO);
+
+        direct = new TrackedOperation();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TrackedOperation());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ExecutionTimeTrackingAspect(new SimpleMeterRegistry(), loggingEnabled,
+                new double[] {0.5, 0.99, 0.999}));
+        proxied = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public long direct() {
+        return direct.run(42L);
+    }
+
+    @Benchmark
+    public long tracked() {
+        return proxied.run(42L);
+    }
+
+    public static class TrackedOperation {
+
+        @TrackExecutionTime("Benchmark Operation")
+        public long run(long value) {
+            return value * 31;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ro.robert.store.management.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import ro.robert.store.management.product.control.ProductCache;
+import ro.robert.store.management.product.entity.response.ProductResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request throughput on Tomcat's default pool of 200 platform threads with one virtual thread
+ * per request. Each simulated request reads a product through {@link ProductCache}, which misses for
+ * most IDs and then blocks for {@code ioMillis} as a stand-in for the database round trip.
+ * One operation is a burst of {@code concurrency} simultaneous requests.
+ * <p>
+ * The VIRTUAL mode needs a Java 21 runtime: {@code mvn -Pbenchmark,java21 test-compile exec:exec
+ * -Djmh.args="RequestThreadingBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final int PRODUCTS = 1_000_000;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String threads;
+
+    @Param({"2000"})
+    private int concurrency;
+
+    @Param({"5"})
+    private int ioMillis;
+
+    private Executor executor;
+    private ExecutorService platformPool;
+    private ProductCache productCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("VIRTUAL".equals(threads)) {
+            executor = new VirtualThreadTaskExecutor("request-");
+        } else {
+            platformPool = Executors.newFixedThreadPool(PLATFORM_THREADS);
+            executor = platformPool;
+        }
+        productCache = new ProductCache(true, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void requestBurst() {
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            long id = ThreadLocalRandom.current().nextLong(1, PRODUCTS + 1);
+            requests[i] = CompletableFuture.supplyAsync(() -> productCache.get(id, this::load), executor);
+        }
+        CompletableFuture.allOf(requests).join();
+    }
+
+    private ProductResponse load(Long id) {
+        try {
+            Thread.sleep(ioMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ProductResponse response = new ProductResponse();
+        response.setId(id);
+        return response;
+    }
+}
@@ -0,0 +1,80 @@
+package ro.robert.store.management.product.boundary;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.robert.store.management.StoreManagementApiApplication;
+import ro.robert.store.management.product.entity.ProductEntity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating several products in one transaction through {@link ProductRepository#saveAll}.
+ * A JDBC batch size of 1 reproduces the previous one-round-trip-per-insert behaviour; larger sizes
+ * show the gain from pooled-lo sequence IDs. Requires the PostgreSQL database from application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductBatchInsertBenchmark {
+
+    private static final String NAME_PREFIX = "jmh-batch-insert-";
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    @Param({"100"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StoreManagementApiApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command line arguments, unlike default properties, override application.properties
+                .run(
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "--app.kafka.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ro.robert.store.management=WARN");
+        productRepository = context.getBean(ProductRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM product WHERE name LIKE ?", NAME_PREFIX + "%");
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductEntity> saveAll() {
+        return transactionTemplate.execute(status -> productRepository.saveAll(newProducts()));
+    }
+
+    private List<ProductEntity> newProducts() {
+        List<ProductEntity> products = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            ProductEntity product = new ProductEntity();
+            product.setName(NAME_PREFIX + i);
+            product.setCategory("Benchmark");
+            product.setPrice(BigDecimal.valueOf(9.99));
+            product.setQuantity(i);
+            products.add(product);
+        }
+        return products;
+    }
+}
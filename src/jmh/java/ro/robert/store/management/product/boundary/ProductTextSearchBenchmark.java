@@ -0,0 +1,99 @@
+package ro.robert.store.management.product.boundary;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ro.robert.store.management.StoreManagementApiApplication;
+import ro.robert.store.management.product.control.ProductService;
+import ro.robert.store.management.product.entity.response.ProductTextSearchResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares full-text search through the GIN-indexed search vector with a naive ILIKE '%term%' scan over
+ * name, category and description, on a synthetic catalog. "wireless" matches a tenth of the rows,
+ * "vintage" one in a thousand. Requires the PostgreSQL database from application.properties; the
+ * synthetic rows are inserted once per trial and deleted afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductTextSearchBenchmark {
+
+    private static final String NAME_PREFIX = "jmh-text-search ";
+    private static final int PAGE_SIZE = 20;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO product (id, name, description, category, price, quantity)
+            SELECT nextval('product_id_seq'),
+                   ? || (ARRAY['wireless', 'ergonomic', 'compact', 'portable', 'smart',
+                               'classic', 'premium', 'rugged', 'silent', 'modular'])[1 + g % 10]
+                     || ' ' || (ARRAY['keyboard', 'mouse', 'monitor', 'headset', 'speaker',
+                                      'webcam', 'charger', 'dock', 'router', 'lamp'])[1 + (g / 10) % 10]
+                     || CASE WHEN g % 1000 = 0 THEN ' vintage' ELSE '' END
+                     || ' ' || g,
+                   'Synthetic product ' || g || ' for text search benchmarking. Built to last with a '
+                     || (ARRAY['matte', 'glossy', 'brushed', 'textured'])[1 + g % 4]
+                     || ' finish, backed by a two year warranty and free returns within thirty days.',
+                   (ARRAY['Electronics', 'Office', 'Gaming', 'Home', 'Audio'])[1 + g % 5],
+                   1 + (g % 500),
+                   g % 50
+            FROM generate_series(1, ?) AS g""";
+
+    private static final String ILIKE_SQL = """
+            SELECT id, name, description, category, price, quantity, created_at, updated_at, version
+            FROM product
+            WHERE name ILIKE ? OR category ILIKE ? OR description ILIKE ?
+            ORDER BY id
+            LIMIT ?""";
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"wireless", "vintage"})
+    private String term;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StoreManagementApiApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command line arguments, unlike default properties, override application.properties
+                .run(
+                        "--app.kafka.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ro.robert.store.management=WARN");
+        productService = context.getBean(ProductService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.update(INSERT_SQL, NAME_PREFIX, rows);
+        jdbcTemplate.execute("ANALYZE product");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM product WHERE name LIKE ?", NAME_PREFIX + "%");
+        context.close();
+    }
+
+    @Benchmark
+    public ProductTextSearchResponse fullTextSearch() {
+        return productService.searchProductsByText(term, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> ilikeSearch() {
+        String pattern = "%" + term + "%";
+        return jdbcTemplate.queryForList(ILIKE_SQL, pattern, pattern, pattern, PAGE_SIZE + 1);
+    }
+}
@@ -0,0 +1,78 @@
+package ro.robert.store.management.product.control;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+import ro.robert.store.management.product.entity.response.ProductSuggestion;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ProductAutocompleteIndex} suggestions and the merge of a small batch of changes
+ * on a synthetic catalog held in memory only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ProductAutocompleteIndexBenchmark {
+
+    private static final String[] ADJECTIVES = {"wireless", "ergonomic", "compact", "portable", "smart",
+            "classic", "premium", "rugged", "silent", "modular"};
+    private static final String[] NOUNS = {"keyboard", "mouse", "monitor", "headset", "speaker",
+            "webcam", "charger", "dock", "router", "lamp"};
+
+    @Param({"1000000"})
+    private int products;
+
+    @Param({"k", "wirel", "smart mon"})
+    private String query;
+
+    private ProductAutocompleteIndex index;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Start from an empty product table and fill the index from events
+        JdbcTemplate emptyTable = new JdbcTemplate() {
+            @Override
+            public void query(PreparedStatementCreator statementCreator, RowCallbackHandler rowHandler) {
+            }
+        };
+        index = new ProductAutocompleteIndex(emptyTable, true, products + 1_000_000, 10);
+        index.build();
+        for (int i = 0; i < products; i++) {
+            index.onProductEvent(created(i));
+        }
+        index.applyPendingChanges();
+        nextId = products;
+    }
+
+    @Benchmark
+    public List<ProductSuggestion> suggest() {
+        return index.suggest(query, 10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 20)
+    public void applyHundredChanges() {
+        for (int i = 0; i < 100; i++) {
+            index.onProductEvent(created(nextId++));
+        }
+        index.applyPendingChanges();
+    }
+
+    private static ProductCreatedEvent created(long id) {
+        ProductCreatedEvent event = new ProductCreatedEvent();
+        event.setProductId(id);
+        event.setProductName(ADJECTIVES[(int) (id % 10)] + " " + NOUNS[(int) (id / 10 % 10)] + " " + id);
+        return event;
+    }
+}
@@ -0,0 +1,84 @@
+package ro.robert.store.management.product.control;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Kafka JSON serializer used for product events with {@link ProductEventBinarySerializer}:
+ * encode and decode cost per event. Encoded sizes are compared in ProductEventBinaryFormatTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductEventSerializationBenchmark {
+
+    private static final String TOPIC = "product-events";
+
+    @Param({"CREATED", "UPDATED"})
+    private String eventType;
+
+    private ProductEvent event;
+    private JsonSerializer<Object> jsonSerializer;
+    private JsonDeserializer<Object> jsonDeserializer;
+    private ProductEventBinarySerializer binarySerializer;
+    private ProductEventBinaryDeserializer binaryDeserializer;
+    private byte[] json;
+    private Headers jsonHeaders;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        event = "CREATED".equals(eventType)
+                ? new ProductCreatedEvent("ProductCreatedEvent", 1_234_567L, "Wireless Keyboard",
+                        "Compact wireless keyboard with backlight", "Electronics", new BigDecimal("49.99"), 120, now, now)
+                : new ProductUpdatedEvent("ProductUpdatedEvent", 1_234_567L, "Wireless Keyboard", "PRICE", "49.99", "44.99", now);
+
+        jsonSerializer = new JsonSerializer<>();
+        jsonDeserializer = new JsonDeserializer<>();
+        // Headers are reused across calls, so the type headers must stay in place after reading
+        jsonDeserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "ro.robert.store.management.*",
+                JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false), false);
+        binarySerializer = new ProductEventBinarySerializer();
+        binaryDeserializer = new ProductEventBinaryDeserializer();
+
+        jsonHeaders = new RecordHeaders();
+        json = jsonSerializer.serialize(TOPIC, jsonHeaders, event);
+        binary = binarySerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binarySerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        return jsonDeserializer.deserialize(TOPIC, jsonHeaders, json);
+    }
+
+    @Benchmark
+    public ProductEvent decodeBinary() {
+        return binaryDeserializer.deserialize(TOPIC, binary);
+    }
+}
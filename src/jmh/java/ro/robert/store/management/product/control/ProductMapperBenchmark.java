@@ -0,0 +1,51 @@
+package ro.robert.store.management.product.control;
+
+import org.openjdk.jmh.annotations.*;
+import ro.robert.store.management.product.entity.ProductEntity;
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+import ro.robert.store.management.product.entity.response.ProductResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping a product entity to its API response and to its created event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    private ProductMapper productMapper;
+    private ProductEntity entity;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapper();
+
+        entity = new ProductEntity();
+        entity.setId(42L);
+        entity.setName("Laptop");
+        entity.setDescription("High-performance laptop for professionals");
+        entity.setCategory("Electronics");
+        entity.setPrice(new BigDecimal("999.99"));
+        entity.setQuantity(50);
+        entity.setCreatedAt(LocalDateTime.now());
+        entity.setUpdatedAt(LocalDateTime.now());
+        entity.setVersion(3L);
+    }
+
+    @Benchmark
+    public ProductResponse toResponse() {
+        return productMapper.toResponse(entity);
+    }
+
+    @Benchmark
+    public ProductCreatedEvent toCreatedEvent() {
+        return productMapper.toCreatedEvent(entity);
+    }
+}
@@ -0,0 +1,191 @@
+package ro.robert.store.management.product.control;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ro.robert.store.management.StoreManagementApiApplication;
+import ro.robert.store.management.product.entity.ProductBatchUpdateMode;
+import ro.robert.store.management.product.entity.ProductCountMode;
+import ro.robert.store.management.product.entity.ProductField;
+import ro.robert.store.management.product.entity.request.ProductBatchUpdateItem;
+import ro.robert.store.management.product.entity.request.ProductBatchUpdateRequest;
+import ro.robert.store.management.product.entity.request.ProductCreateRequest;
+import ro.robert.store.management.product.entity.request.UpdatePriceRequest;
+import ro.robert.store.management.product.entity.response.ProductBatchResponse;
+import ro.robert.store.management.product.entity.response.ProductBatchUpdateResponse;
+import ro.robert.store.management.product.entity.response.ProductCursorPagedResponse;
+import ro.robert.store.management.product.entity.response.ProductPagedResponse;
+import ro.robert.store.management.product.entity.response.ProductResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the main {@link ProductService} paths through the full Spring context (transactions, caches,
+ * event publishing) against an embedded H2 database in PostgreSQL mode, so it runs without external services.
+ * Absolute numbers are not comparable to PostgreSQL; use them to spot regressions between builds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    private static final Set<ProductField> LISTING_FIELDS = ProductField.parse("id,name,price,quantity");
+    private static final int BASKET_SIZE = 20;
+    private static final int REPRICING_SIZE = 100;
+
+    @Param({"1000"})
+    private int products;
+
+    // Level of the application loggers; run with -p logLevel=INFO,DEBUG to include logging cost
+    @Param({"WARN"})
+    private String logLevel;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductCache productCache;
+    private ProductBatchUpdateService productBatchUpdateService;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StoreManagementApiApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command line arguments, unlike default properties, override application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:product-benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--app.kafka.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ro.robert.store.management=" + logLevel);
+        productService = context.getBean(ProductService.class);
+        productCache = context.getBean(ProductCache.class);
+        productBatchUpdateService = context.getBean(ProductBatchUpdateService.class);
+
+        firstId = productService.createProduct(newProduct(0)).getId();
+        for (int i = 1; i < products; i++) {
+            productService.createProduct(newProduct(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponse createProduct() {
+        return productService.createProduct(newProduct(products));
+    }
+
+    @Benchmark
+    public ProductResponse getProductByIdCached() {
+        return productService.getProductById(randomId());
+    }
+
+    @Benchmark
+    public ProductResponse getProductByIdUncached() {
+        long id = randomId();
+        productCache.evict(id);
+        return productService.getProductById(id);
+    }
+
+    @Benchmark
+    public List<ProductResponse> getBasketOneByOneUncached() {
+        List<ProductResponse> basket = new ArrayList<>(BASKET_SIZE);
+        for (long id : uncachedBasketIds()) {
+            basket.add(productService.getProductById(id));
+        }
+        return basket;
+    }
+
+    @Benchmark
+    public ProductBatchResponse getBasketByIdsUncached() {
+        return productService.getProductsByIds(uncachedBasketIds());
+    }
+
+    @Benchmark
+    public ProductPagedResponse getAllProductsExactCount() {
+        return productService.getAllProducts(PageRequest.of(10, 20, Sort.by("name")), ProductCountMode.EXACT);
+    }
+
+    @Benchmark
+    public ProductPagedResponse getAllProductsWithoutCount() {
+        return productService.getAllProducts(PageRequest.of(10, 20, Sort.by("name")), ProductCountMode.NONE);
+    }
+
+    @Benchmark
+    public ProductPagedResponse getAllProductsListingFieldsWithoutCount() {
+        return productService.getAllProducts(PageRequest.of(10, 20, Sort.by("name")), ProductCountMode.NONE, LISTING_FIELDS);
+    }
+
+    @Benchmark
+    public ProductCursorPagedResponse getProductsFirstCursorPage() {
+        return productService.getProductsAfter(null, 20, "name", Sort.Direction.ASC);
+    }
+
+    @Benchmark
+    public ProductResponse updateProductPrice() {
+        return productService.updateProduct(randomId(), new UpdatePriceRequest("UpdatePriceRequest", randomPrice()));
+    }
+
+    @Benchmark
+    public List<ProductResponse> repriceOneByOne() {
+        List<ProductResponse> updated = new ArrayList<>(REPRICING_SIZE);
+        for (int i = 0; i < REPRICING_SIZE; i++) {
+            updated.add(productService.updateProduct(firstId + i, new UpdatePriceRequest("UpdatePriceRequest", randomPrice())));
+        }
+        return updated;
+    }
+
+    @Benchmark
+    public ProductBatchUpdateResponse repriceInBatch() {
+        List<ProductBatchUpdateItem> items = new ArrayList<>(REPRICING_SIZE);
+        for (int i = 0; i < REPRICING_SIZE; i++) {
+            items.add(new ProductBatchUpdateItem(firstId + i, null, new UpdatePriceRequest("UpdatePriceRequest", randomPrice())));
+        }
+        return productBatchUpdateService.updateProducts(new ProductBatchUpdateRequest(ProductBatchUpdateMode.ALL_OR_NOTHING, items));
+    }
+
+    private List<Long> uncachedBasketIds() {
+        List<Long> ids = new ArrayList<>(BASKET_SIZE);
+        for (int i = 0; i < BASKET_SIZE; i++) {
+            long id = randomId();
+            productCache.evict(id);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static BigDecimal randomPrice() {
+        return BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100, 100_000), 2);
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(products);
+    }
+
+    private static ProductCreateRequest newProduct(int i) {
+        ProductCreateRequest request = new ProductCreateRequest();
+        request.setName("Benchmark product " + i);
+        request.setDescription("Product created by ProductServiceBenchmark");
+        request.setCategory("Category " + (i % 10));
+        request.setPrice(BigDecimal.valueOf(1000 + i, 2));
+        request.setQuantity(100);
+        return request;
+    }
+}
@@ -0,0 +1,50 @@
+package ro.robert.store.management.product.entity.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures deserializing PATCH bodies into the polymorphic {@link ProductUpdateRequest} hierarchy,
+ * including the fallback to {@link UnsupportedUpdateRequest} for unknown types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductUpdateRequestDeserializationBenchmark {
+
+    @Param({
+        "{\"type\":\"UpdatePriceRequest\",\"price\":149.99}",
+        "{\"type\":\"UpdateStockRequest\",\"quantity\":25}",
+        "{\"type\":\"AdjustStockRequest\",\"delta\":-3}",
+        "{\"type\":\"UnknownRequest\",\"value\":1}"
+    })
+    private String json;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the mapper Spring Boot configures for request bodies
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        reader = objectMapper.readerFor(ProductUpdateRequest.class);
+    }
+
+    @Benchmark
+    public ProductUpdateRequest objectMapper() throws IOException {
+        return objectMapper.readValue(json, ProductUpdateRequest.class);
+    }
+
+    @Benchmark
+    public ProductUpdateRequest objectReader() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -7,7 +7,7 @@ import java.lang.annotation.Target;
 
 /**
  * Annotation to track the execution time of methods.
- * When applied to a method, it will log the time taken to execute that method.
+ * When applied to a method, its latency and outcome are recorded in the "app.operation" timer.
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
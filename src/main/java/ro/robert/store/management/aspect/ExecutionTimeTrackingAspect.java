@@ -1,51 +1,103 @@
 package ro.robert.store.management.aspect;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import ro.robert.store.management.annotation.TrackExecutionTime;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspect to handle execution time tracking for methods annotated with @TrackExecutionTime.
+ * Each operation records into a Micrometer timer ({@value #METRIC_NAME}, tagged with the operation name
+ * and outcome) that publishes p50/p99/p999 latencies and error counts, e.g. via /actuator/metrics.
+ * Timers are resolved once per method; logging each call is optional and off by default.
  */
 @Slf4j
 @Aspect
 @Component
 public class ExecutionTimeTrackingAspect {
 
+    static final String METRIC_NAME = "app.operation";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean loggingEnabled;
+    private final double[] percentiles;
+    private final Map<Method, OperationTimers> timersByMethod = new ConcurrentHashMap<>();
+
+    public ExecutionTimeTrackingAspect(
+            MeterRegistry meterRegistry,
+            @Value("${app.tracking.logging.enabled:false}") boolean loggingEnabled,
+            @Value("${app.tracking.percentiles:0.5,0.99,0.999}") double[] percentiles) {
+        this.meterRegistry = meterRegistry;
+        this.loggingEnabled = loggingEnabled;
+        this.percentiles = percentiles;
+    }
+
     @Around("@annotation(ro.robert.store.management.annotation.TrackExecutionTime)")
     public Object trackExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        TrackExecutionTime annotation = method.getAnnotation(TrackExecutionTime.class);
-        
-        String operationName = annotation.value().isEmpty() ? 
-            method.getName() : annotation.value();
-        
-        log.info("Starting operation: {}", operationName);
+        OperationTimers timers = timersFor(joinPoint);
+        long startTime = System.nanoTime();
         
         try {
             Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            log.info("Operation: {} completed successfully in {} ms", operationName, executionTime);
+            long executionTime = System.nanoTime() - startTime;
+            timers.success().record(executionTime, TimeUnit.NANOSECONDS);
             
+            if (loggingEnabled) {
+                log.info("Operation: {} completed successfully in {} ms", timers.operationName(), toMillis(executionTime));
+            }
             return result;
             
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            log.error("Operation: {} failed after {} ms with error: {}", 
-                operationName, executionTime, e.getMessage());
+        } catch (Throwable e) {
+            long executionTime = System.nanoTime() - startTime;
+            timers.error().record(executionTime, TimeUnit.NANOSECONDS);
             
+            if (loggingEnabled) {
+                log.warn("Operation: {} failed after {} ms with error: {}", 
+                    timers.operationName(), toMillis(executionTime), e.getMessage());
+            }
             throw e;
         }
     }
+
+    private OperationTimers timersFor(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        OperationTimers timers = timersByMethod.get(method);
+        if (timers == null) {
+            timers = timersByMethod.computeIfAbsent(method, this::createTimers);
+        }
+        return timers;
+    }
+
+    private OperationTimers createTimers(Method method) {
+        TrackExecutionTime annotation = method.getAnnotation(TrackExecutionTime.class);
+        String operationName = annotation.value().isEmpty() ? method.getName() : annotation.value();
+        return new OperationTimers(operationName, timer(operationName, "success"), timer(operationName, "error"));
+    }
+
+    private Timer timer(String operationName, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("Execution time of @TrackExecutionTime operations")
+                .tag("operation", operationName)
+                .tag("outcome", outcome)
+                .publishPercentiles(percentiles)
+                .register(meterRegistry);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record OperationTimers(String operationName, Timer success, Timer error) {
+    }
 }
@@ -0,0 +1,22 @@
+package ro.robert.store.management.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Customizes the application ObjectMapper.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Lets classes annotated with @JsonFilter be written without a filter, as if unannotated. Responses that
+     * should be filtered register their filter per request through MappingJacksonValue.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer jsonFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
@@ -2,12 +2,17 @@ package ro.robert.store.management.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 
+import java.time.Duration;
+import java.util.Map;
+
 @Slf4j
 @Configuration
 @ConditionalOnProperty(name = "app.kafka.enabled", havingValue = "true", matchIfMissing = false)
@@ -34,4 +39,26 @@ public class KafkaConfig {
                 .replicas(replicationFactor)
                 .build();
     }
+
+    /**
+     * High-throughput producer profile (app.kafka.producer.profile=high-throughput): records wait up to
+     * the linger time to fill larger compressed batches, and idempotence keeps retries from duplicating
+     * or reordering records per partition
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.kafka.producer.profile", havingValue = "high-throughput")
+    public DefaultKafkaProducerFactoryCustomizer highThroughputProducerCustomizer(
+            @Value("${app.kafka.producer.high-throughput.linger:20ms}") Duration linger,
+            @Value("${app.kafka.producer.high-throughput.batch-size:65536}") int batchSize,
+            @Value("${app.kafka.producer.high-throughput.compression-type:lz4}") String compressionType) {
+        log.info("Kafka producer profile: high-throughput - linger: {}, batch size: {}, compression: {}",
+                linger, batchSize, compressionType);
+        return producerFactory -> producerFactory.updateConfigs(Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, (int) linger.toMillis(),
+                ProducerConfig.BATCH_SIZE_CONFIG, batchSize,
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType,
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5));
+    }
 }
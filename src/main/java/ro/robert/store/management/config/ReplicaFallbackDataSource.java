@@ -0,0 +1,91 @@
+package ro.robert.store.management.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+/**
+ * Hands out replica connections for read-only transactions, falling back to the primary while the
+ * replica cannot be reached. After a failed attempt the replica is skipped for the retry interval,
+ * so requests do not each wait for the replica's connection timeout. A replica pool that is merely
+ * exhausted is not a reason to fall back: its timeout is returned to the caller instead of moving
+ * the replica's load onto the primary.
+ */
+@Slf4j
+public class ReplicaFallbackDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final long retryIntervalNanos;
+    private final Counter fallbacks;
+    private volatile boolean replicaDown;
+    private volatile long retryAt;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, Duration retryInterval, MeterRegistry meterRegistry) {
+        super(replica);
+        this.primary = primary;
+        this.retryIntervalNanos = retryInterval.toNanos();
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only connections taken from the primary because the replica was unavailable")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(ConnectionSource source) throws SQLException {
+        if (replicaDown && System.nanoTime() - retryAt < 0) {
+            fallbacks.increment();
+            return source.connect(primary);
+        }
+        try {
+            Connection connection = source.connect(obtainTargetDataSource());
+            if (replicaDown) {
+                replicaDown = false;
+                log.info("Replica datasource is available again");
+            }
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            if (isPoolExhausted(e)) {
+                throw e;
+            }
+            // Hikari reports a pool that cannot start with a runtime PoolInitializationException
+            retryAt = System.nanoTime() + retryIntervalNanos;
+            if (!replicaDown) {
+                replicaDown = true;
+                log.warn("Replica datasource unavailable, using the primary for reads for {} ms: {}",
+                        retryIntervalNanos / 1_000_000, e.getMessage());
+            }
+            fallbacks.increment();
+            return source.connect(primary);
+        }
+    }
+
+    /**
+     * Tells whether a connection request failed only because every pooled replica connection was in use.
+     * Hikari then times out with a SQLTransientConnectionException that has no cause; when the replica cannot
+     * be reached, the last connection failure is attached as the cause.
+     */
+    private static boolean isPoolExhausted(Exception e) {
+        return e instanceof SQLTransientConnectionException && e.getCause() == null;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+}
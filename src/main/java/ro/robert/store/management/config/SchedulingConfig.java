@@ -0,0 +1,13 @@
+package ro.robert.store.management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as the outbox relay. The scheduler pool is sized by
+ * spring.task.scheduling.pool.size so that a slow job does not hold up the others.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -10,12 +10,18 @@ public enum ServiceErrorType {
     
     PRODUCT_NOT_FOUND("PRODUCT_NOT_FOUND", "Product not found with id: %d", HttpStatus.NOT_FOUND),
     UNSUPPORTED_UPDATE_TYPE("UNSUPPORTED_UPDATE_TYPE", "Unsupported update request type: %s", HttpStatus.BAD_REQUEST),
+    INSUFFICIENT_STOCK("INSUFFICIENT_STOCK", "Insufficient stock for product with id: %d", HttpStatus.CONFLICT),
+    PRODUCT_VERSION_MISMATCH("PRODUCT_VERSION_MISMATCH", "Product with id: %d has been modified - reload it and retry", HttpStatus.PRECONDITION_FAILED),
     
     VALIDATION_ERROR("VALIDATION_ERROR", "Validation failed: %s", HttpStatus.BAD_REQUEST),
     INVALID_PRODUCT_DATA("INVALID_PRODUCT_DATA", "Invalid product data: %s", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR("INVALID_CURSOR", "Invalid pagination cursor: %s", HttpStatus.BAD_REQUEST),
+    
+    INVALID_CREDENTIALS("INVALID_CREDENTIALS", "Invalid username or password", HttpStatus.UNAUTHORIZED),
     
     DATABASE_CONSTRAINT_VIOLATION("DATABASE_CONSTRAINT_VIOLATION", "Database constraint violation - please check your input data", HttpStatus.BAD_REQUEST),
     DATABASE_ERROR("DATABASE_ERROR", "Database operation failed", HttpStatus.INTERNAL_SERVER_ERROR),
+    EVENT_QUEUE_FULL("EVENT_QUEUE_FULL", "Too many pending product events - please retry later", HttpStatus.SERVICE_UNAVAILABLE),
     
     INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR", "An unexpected error occurred. Please try again later.", HttpStatus.INTERNAL_SERVER_ERROR);
     
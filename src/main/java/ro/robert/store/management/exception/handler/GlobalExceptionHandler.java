@@ -2,9 +2,11 @@ package ro.robert.store.management.exception.handler;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -100,6 +102,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(serviceException.getErrorResponse(), serviceException.getStatusCode());
     }
 
+    /**
+     * Handle optimistic locking failures (a concurrent request changed the entity first).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ServiceErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("Optimistic locking failure occurred: {}", ex.getMessage());
+        
+        Object identifier = ex instanceof ObjectOptimisticLockingFailureException objectEx ? objectEx.getIdentifier() : null;
+        ServiceException serviceException = new ServiceException(ServiceErrorType.PRODUCT_VERSION_MISMATCH, identifier);
+        return new ResponseEntity<>(serviceException.getErrorResponse(), serviceException.getStatusCode());
+    }
+
     /**
      * Handle SQL exceptions
      */
@@ -0,0 +1,49 @@
+package ro.robert.store.management.outbox.boundary;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ro.robert.store.management.outbox.entity.OutboxEventEntity;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+    
+    /**
+     * Takes a transaction-scoped advisory lock, so that only one relay instance at a time checks for
+     * and makes claims
+     *
+     * @return true if the lock was taken, false if another transaction holds it
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryRelayLock(long lockKey);
+    
+    /**
+     * Tells whether a relay instance holds an unexpired claim, i.e. is still sending a batch
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM outbox_event WHERE claimed_until > now())", nativeQuery = true)
+    boolean hasActiveClaim();
+    
+    /**
+     * Finds the oldest pending events, including those of an expired claim
+     */
+    @Query(value = "SELECT * FROM outbox_event ORDER BY id LIMIT :batchSize", nativeQuery = true)
+    List<OutboxEventEntity> findNextBatch(int batchSize);
+    
+    /**
+     * Claims events for the given time, measured by the database clock
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox_event SET claimed_until = now() + :claimTimeoutMillis * INTERVAL '1 millisecond' "
+            + "WHERE id IN (:ids)", nativeQuery = true)
+    int claim(List<Long> ids, long claimTimeoutMillis);
+    
+    /**
+     * Releases the claim on events that were not sent, so the next batch retries them
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox_event SET claimed_until = NULL WHERE id IN (:ids)", nativeQuery = true)
+    int releaseClaims(List<Long> ids);
+}
@@ -0,0 +1,19 @@
+package ro.robert.store.management.outbox.control;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@RequiredArgsConstructor
+public class KafkaOutboxMessageSender implements OutboxMessageSender {
+    
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    
+    @Override
+    public CompletableFuture<?> send(String topic, String key, Object payload) {
+        return kafkaTemplate.send(topic, key, payload);
+    }
+}
@@ -0,0 +1,39 @@
+package ro.robert.store.management.outbox.control;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges messages of a relay batch before they are sent, so several outbox rows can go out as one message.
+ */
+public interface OutboxMessageCoalescer {
+
+    /**
+     * Sends every message on its own.
+     */
+    OutboxMessageCoalescer NONE = payloads -> {
+        List<Group> groups = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            groups.add(new Group(payloads.get(i), List.of(i)));
+        }
+        return groups;
+    };
+
+    /**
+     * Groups the messages of a batch
+     *
+     * @param payloads the batch payloads in outbox order; null for payloads that cannot be read
+     * @return the messages to send, ordered by their first member; every payload index is in exactly one group,
+     *         and members of a group share the topic and key of the group's last member
+     */
+    List<Group> coalesce(List<Object> payloads);
+
+    /**
+     * A message to send and the outbox rows it stands for
+     *
+     * @param payload the payload to send, null if the rows cannot be sent and are dropped
+     * @param members indexes of the batch payloads the message replaces, ascending
+     */
+    record Group(Object payload, List<Integer> members) {
+    }
+}
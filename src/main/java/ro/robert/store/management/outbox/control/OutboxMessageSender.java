@@ -0,0 +1,19 @@
+package ro.robert.store.management.outbox.control;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers relayed outbox messages to the message broker.
+ */
+public interface OutboxMessageSender {
+    
+    /**
+     * Sends a message asynchronously
+     *
+     * @param topic the destination topic
+     * @param key the message key, may be null
+     * @param payload the message payload
+     * @return a future completed once the broker acknowledged the message
+     */
+    CompletableFuture<?> send(String topic, String key, Object payload);
+}
@@ -0,0 +1,207 @@
+package ro.robert.store.management.outbox.control;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.robert.store.management.outbox.boundary.OutboxEventRepository;
+import ro.robert.store.management.outbox.entity.OutboxEventEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background relay that drains the outbox table in batches and hands the messages to the broker.
+ * Delivery is at-least-once: rows are deleted only after the broker acknowledged them, and after
+ * the first failed send in a batch every later row is kept and retried.
+ * <p>
+ * A batch is claimed in a short transaction, sent without holding a transaction or connection, and then
+ * deleted or released in a second one. Only one relay instance claims a batch at a time, so per-key order
+ * is preserved across instances as long as a batch is sent within the claim timeout; an expired claim
+ * lets another instance relay the rows again.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${app.kafka.enabled:false} and ${app.outbox.enabled:true}")
+public class OutboxRelay {
+
+    // Advisory lock key under which relay instances check for and make claims ("outbox" in ASCII)
+    static final long RELAY_LOCK_KEY = 0x6F7574626F78L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxMessageSender messageSender;
+    private final OutboxMessageCoalescer messageCoalescer;
+    private final ObjectMapper objectMapper;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration claimTimeout;
+
+    @Autowired
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            OutboxMessageSender messageSender,
+            OutboxMessageCoalescer messageCoalescer,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.outbox.relay.batch-size:100}") int batchSize,
+            @Value("${app.outbox.relay.send-timeout:10s}") Duration sendTimeout,
+            @Value("${app.outbox.relay.claim-timeout:30s}") Duration claimTimeout) {
+        this(outboxEventRepository, messageSender, messageCoalescer, objectMapper,
+                new TransactionTemplate(transactionManager), batchSize, sendTimeout, claimTimeout);
+    }
+
+    OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxMessageSender messageSender,
+                OutboxMessageCoalescer messageCoalescer, ObjectMapper objectMapper,
+                TransactionOperations transactionOperations, int batchSize, Duration sendTimeout,
+                Duration claimTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.messageSender = messageSender;
+        this.messageCoalescer = messageCoalescer;
+        this.objectMapper = objectMapper;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.claimTimeout = claimTimeout;
+
+        if (claimTimeout.compareTo(sendTimeout) <= 0) {
+            log.warn("Outbox relay claim timeout {} does not exceed the send timeout {} - another instance may relay "
+                    + "a batch that is still being sent", claimTimeout, sendTimeout);
+        }
+        log.info("OutboxRelay initialized - batch size: {}, send timeout: {}, claim timeout: {}",
+                batchSize, sendTimeout, claimTimeout);
+    }
+
+    /**
+     * Drains the outbox until a batch comes back partially filled, then waits for the linger time
+     * before polling again, so bursts are relayed back to back and idle periods cost one query per linger.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay.linger:200ms}")
+    public void relayPending() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    /**
+     * Relays one batch of pending outbox messages. Broker acknowledgements are awaited for up to the
+     * send timeout per batch, outside any transaction.
+     *
+     * @return the number of messages acknowledged by the broker and removed from the outbox
+     */
+    public int relayBatch() {
+        List<OutboxEventEntity> batch = transactionOperations.execute(status -> claimNextBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> payloads = new ArrayList<>(batch.size());
+        for (OutboxEventEntity event : batch) {
+            payloads.add(readPayload(event));
+        }
+        // Rows merged into one message are acknowledged and deleted together
+        List<OutboxMessageCoalescer.Group> groups = messageCoalescer.coalesce(payloads);
+
+        List<CompletableFuture<?>> futures = new ArrayList<>(groups.size());
+        for (OutboxMessageCoalescer.Group group : groups) {
+            futures.add(send(batch.get(group.members().get(group.members().size() - 1)), group.payload()));
+        }
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        Set<Long> acknowledgedIds = new LinkedHashSet<>(batch.size());
+        for (int i = 0; i < groups.size(); i++) {
+            OutboxEventEntity event = batch.get(groups.get(i).members().get(0));
+            // A null future marks a message that can never be sent; it is dropped instead of blocking the outbox
+            if (futures.get(i) != null && !awaitAcknowledgement(event, futures.get(i), deadline)) {
+                break;
+            }
+            groups.get(i).members().forEach(member -> acknowledgedIds.add(batch.get(member).getId()));
+        }
+        List<Long> unacknowledgedIds = batch.stream()
+                .map(OutboxEventEntity::getId)
+                .filter(id -> !acknowledgedIds.contains(id))
+                .toList();
+
+        transactionOperations.executeWithoutResult(status -> {
+            outboxEventRepository.deleteAllByIdInBatch(List.copyOf(acknowledgedIds));
+            if (!unacknowledgedIds.isEmpty()) {
+                outboxEventRepository.releaseClaims(unacknowledgedIds);
+            }
+        });
+        log.debug("Relayed {} of {} outbox messages", acknowledgedIds.size(), batch.size());
+        return acknowledgedIds.size();
+    }
+
+    /**
+     * Claims the oldest pending messages unless another relay instance is still sending a claimed batch.
+     * Called in a transaction, which holds the relay lock until it commits.
+     *
+     * @return the claimed messages, empty if there are none or another instance is relaying
+     */
+    private List<OutboxEventEntity> claimNextBatch() {
+        // Relaying alongside another instance could send a product's later events before its earlier ones
+        if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY) || outboxEventRepository.hasActiveClaim()) {
+            return List.of();
+        }
+        List<OutboxEventEntity> batch = outboxEventRepository.findNextBatch(batchSize);
+        if (!batch.isEmpty()) {
+            outboxEventRepository.claim(batch.stream().map(OutboxEventEntity::getId).toList(), claimTimeout.toMillis());
+        }
+        return batch;
+    }
+
+    /**
+     * Reads the payload of an outbox message
+     *
+     * @return the payload, or null if it cannot be read
+     */
+    private Object readPayload(OutboxEventEntity event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), Class.forName(event.getPayloadType()));
+        } catch (Exception e) {
+            log.error("Dropping outbox message {} - payload of type {} cannot be read: {}",
+                    event.getId(), event.getPayloadType(), e.getMessage());
+            return null;
+        }
+    }
+
+    private CompletableFuture<?> send(OutboxEventEntity event, Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return messageSender.send(event.getTopic(), event.getMessageKey(), payload);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean awaitAcknowledgement(OutboxEventEntity event, CompletableFuture<?> future, long deadline) {
+        try {
+            future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            log.warn("Failed to relay outbox message {} to topic: {} - will retry: {}",
+                    event.getId(), event.getTopic(), cause.getMessage());
+            return false;
+        }
+    }
+}
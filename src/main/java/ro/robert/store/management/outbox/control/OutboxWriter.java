@@ -0,0 +1,73 @@
+package ro.robert.store.management.outbox.control;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ro.robert.store.management.outbox.boundary.OutboxEventRepository;
+import ro.robert.store.management.outbox.entity.OutboxEventEntity;
+import ro.robert.store.management.outbox.entity.OutboxMessage;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends messages to the outbox table as part of the caller's transaction, so a message
+ * is relayed if and only if the change that produced it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_event (topic, message_key, payload_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Appends a message to the outbox
+     *
+     * @param topic the destination topic
+     * @param key the message key, may be null
+     * @param payload the message payload, stored as JSON together with its type
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String key, Object payload) {
+        OutboxEventEntity entity = new OutboxEventEntity();
+        entity.setTopic(topic);
+        entity.setMessageKey(key);
+        entity.setPayloadType(payload.getClass().getName());
+        entity.setPayload(toJson(payload));
+        outboxEventRepository.save(entity);
+    }
+    
+    /**
+     * Appends several messages to the outbox with one JDBC batch insert instead of one insert per message
+     *
+     * @param topic the destination topic
+     * @param messages the messages, relayed in this order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(String topic, List<OutboxMessage> messages) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = messages.stream()
+                .map(message -> new Object[] {topic, message.key(), message.payload().getClass().getName(),
+                        toJson(message.payload()), now})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+    
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize outbox payload of type " + payload.getClass().getName(), e);
+        }
+    }
+}
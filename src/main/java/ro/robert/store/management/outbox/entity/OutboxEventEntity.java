@@ -0,0 +1,43 @@
+package ro.robert.store.management.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_event")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "topic", nullable = false)
+    private String topic;
+    
+    @Column(name = "message_key")
+    private String messageKey;
+    
+    @Column(name = "payload_type", nullable = false)
+    private String payloadType;
+    
+    @Column(name = "payload", nullable = false)
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "claimed_until", insertable = false, updatable = false)
+    private LocalDateTime claimedUntil;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,10 @@
+package ro.robert.store.management.outbox.entity;
+
+/**
+ * A message to append to the outbox as part of a batch.
+ *
+ * @param key the message key, may be null
+ * @param payload the message payload, stored as JSON together with its type
+ */
+public record OutboxMessage(String key, Object payload) {
+}
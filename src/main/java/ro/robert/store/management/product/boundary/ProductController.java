@@ -1,7 +1,10 @@
 package ro.robert.store.management.product.boundary;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,25 +16,60 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import ro.robert.store.management.annotation.TrackExecutionTime;
 import ro.robert.store.management.exception.entity.ServiceErrorResponse;
+import ro.robert.store.management.exception.entity.ServiceErrorType;
+import ro.robert.store.management.exception.entity.ServiceException;
+import ro.robert.store.management.product.entity.ProductCountMode;
+import ro.robert.store.management.product.entity.ProductField;
+import ro.robert.store.management.product.entity.ProductSearchCriteria;
+import ro.robert.store.management.product.entity.request.ProductBatchUpdateRequest;
 import ro.robert.store.management.product.entity.request.ProductCreateRequest;
 import ro.robert.store.management.product.entity.request.ProductUpdateRequest;
+import ro.robert.store.management.product.entity.response.ProductBatchResponse;
+import ro.robert.store.management.product.entity.response.ProductBatchUpdateResponse;
+import ro.robert.store.management.product.entity.response.ProductCursorPagedResponse;
+import ro.robert.store.management.product.entity.response.ProductImportResponse;
 import ro.robert.store.management.product.entity.response.ProductPagedResponse;
 import ro.robert.store.management.product.entity.response.ProductResponse;
+import ro.robert.store.management.product.entity.response.ProductSuggestion;
+import ro.robert.store.management.product.entity.response.ProductTextSearchResponse;
+import ro.robert.store.management.product.control.ProductBatchUpdateService;
+import ro.robert.store.management.product.control.ProductExportService;
+import ro.robert.store.management.product.control.ProductImportService;
 import ro.robert.store.management.product.control.ProductService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
 @Tag(name = "Product Management", description = "API for managing store products")
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
     
+    private static final Pattern VERSION_TAG = Pattern.compile("\\d{1,18}");
+    
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductBatchUpdateService productBatchUpdateService;
+    private final ProductExportService productExportService;
     
     @Operation(summary = "Create a new product", description = "Creates a new product in the store inventory")
     @ApiResponses(value = {
@@ -49,14 +87,32 @@ public class ProductController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
     
-    @Operation(summary = "Get all products", description = "Retrieves a paginated list of all products")
+    @Operation(summary = "Import products in bulk", 
+            description = "Creates products from an NDJSON or JSON array body. Rows are validated individually "
+                    + "and inserted in batches; invalid rows are skipped and reported by row number")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import processed, see the report for rejected rows",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductImportResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Manager or Admin role required")
+    })
+    @SecurityRequirement(name = "basicAuth")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @TrackExecutionTime("Import Products")
+    public ResponseEntity<ProductImportResponse> importProducts(InputStream body) throws IOException {
+        ProductImportResponse response = productImportService.importProducts(body);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+    
+    @Operation(summary = "Get all products", 
+            description = "Retrieves a paginated list of all products, optionally limited to the given fields")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductPagedResponse.class)))
     })
     @GetMapping
     @TrackExecutionTime("Get All Products")
-    public ResponseEntity<ProductPagedResponse> getAllProducts(
+    public ResponseEntity<MappingJacksonValue> getAllProducts(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10")
@@ -64,7 +120,12 @@ public class ProductController {
             @Parameter(description = "Field to sort by", example = "name")
             @RequestParam(required = false) String sortBy,
             @Parameter(description = "Sort direction", example = "ASC")
-            @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection) {
+            @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection,
+            @Parameter(description = "How totals are computed: EXACT, NONE (hasNext only), ESTIMATED or CACHED", example = "EXACT")
+            @RequestParam(defaultValue = "EXACT") ProductCountMode countMode,
+            @Parameter(description = "Comma separated product fields to return; only their columns are read. All fields when omitted", 
+                    example = "id,name,price,quantity")
+            @RequestParam(required = false) String fields) {
         
         Sort sort = Sort.unsorted();
         if (sortBy != null && !sortBy.isEmpty()) {
@@ -72,32 +133,200 @@ public class ProductController {
         }
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        ProductPagedResponse products = productService.getAllProducts(pageable);
+        Set<ProductField> selectedFields = ProductField.parse(fields);
+        ProductPagedResponse products = productService.getAllProducts(pageable, countMode, selectedFields);
+        return new ResponseEntity<>(withFields(products, selectedFields), HttpStatus.OK);
+    }
+    
+    @Operation(summary = "Export all products", 
+            description = "Streams every product as NDJSON, one product per line in ID order, read from a database cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products streamed successfully",
+                content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ProductResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Manager or Admin role required")
+    })
+    @SecurityRequirement(name = "basicAuth")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    // Not timed: the body is written after this method returns
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = productExportService::exportProducts;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    @Operation(summary = "Get products by IDs", 
+            description = "Retrieves up to app.product.batch-get.max-ids products in one call, in the order requested. "
+                    + "IDs without a product are listed in missingIds instead of failing the call")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductBatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "No IDs or too many IDs",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class)))
+    })
+    @GetMapping(params = "ids")
+    @TrackExecutionTime("Get Products By IDs")
+    public ResponseEntity<MappingJacksonValue> getProductsByIds(
+            @Parameter(description = "Comma separated product IDs", example = "1,2,3", required = true)
+            @RequestParam List<Long> ids,
+            @Parameter(description = "Comma separated product fields to return. All fields when omitted", example = "id,name,price")
+            @RequestParam(required = false) String fields) {
+        
+        Set<ProductField> selectedFields = ProductField.parse(fields);
+        ProductBatchResponse products = productService.getProductsByIds(ids);
+        return new ResponseEntity<>(withFields(products, selectedFields), HttpStatus.OK);
+    }
+    
+    @Operation(summary = "Get products by cursor", 
+            description = "Retrieves products using keyset pagination. Latency does not grow with page depth; "
+                    + "pass the returned nextCursor as 'after' to fetch the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductCursorPagedResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class)))
+    })
+    @GetMapping("/cursor")
+    @TrackExecutionTime("Get Products By Cursor")
+    public ResponseEntity<ProductCursorPagedResponse> getProductsByCursor(
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Field to sort by (id, name or price); ignored when a cursor is given", example = "name")
+            @RequestParam(required = false) String sortBy,
+            @Parameter(description = "Sort direction; ignored when a cursor is given", example = "ASC")
+            @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection) {
+        
+        ProductCursorPagedResponse products = productService.getProductsAfter(after, size, sortBy, sortDirection);
         return new ResponseEntity<>(products, HttpStatus.OK);
     }
     
-    @Operation(summary = "Get product by ID", description = "Retrieves a specific product by its ID")
+    @Operation(summary = "Search products", 
+            description = "Filters products by category, price range, stock and case-insensitive name prefix, "
+                    + "with keyset pagination. Pass the returned nextCursor as 'after' together with the same filters "
+                    + "to fetch the next page. Descriptions are only returned when requested")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductCursorPagedResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid filters, cursor or sort field",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class)))
+    })
+    @GetMapping("/search")
+    @TrackExecutionTime("Search Products")
+    public ResponseEntity<ProductCursorPagedResponse> searchProducts(
+            @Parameter(description = "Exact category", example = "Electronics")
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Minimum price (inclusive)", example = "10.00")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price (inclusive)", example = "500.00")
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Only return products with a positive quantity", example = "true")
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @Parameter(description = "Case-insensitive name prefix", example = "lap")
+            @RequestParam(required = false) String namePrefix,
+            @Parameter(description = "Whether to include product descriptions", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeDescription,
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Field to sort by (id, name or price); ignored when a cursor is given", example = "price")
+            @RequestParam(required = false) String sortBy,
+            @Parameter(description = "Sort direction; ignored when a cursor is given", example = "ASC")
+            @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection) {
+        
+        ProductSearchCriteria criteria = new ProductSearchCriteria(category, minPrice, maxPrice, inStock, namePrefix);
+        ProductCursorPagedResponse products = productService.searchProducts(
+                criteria, includeDescription, after, size, sortBy, sortDirection);
+        return new ResponseEntity<>(products, HttpStatus.OK);
+    }
+    
+    @Operation(summary = "Full-text search products", 
+            description = "Searches product names, categories and descriptions and returns the matches with "
+                    + "relevance scores, most relevant first. Supports web search syntax: \"quoted phrases\", or, -exclusions")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductTextSearchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Missing query or invalid page parameters",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class)))
+    })
+    @GetMapping("/search/text")
+    @TrackExecutionTime("Full-Text Search Products")
+    public ResponseEntity<ProductTextSearchResponse> searchProductsByText(
+            @Parameter(description = "Search text", example = "wireless keyboard", required = true)
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        
+        ProductTextSearchResponse products = productService.searchProductsByText(q, page, size);
+        return new ResponseEntity<>(products, HttpStatus.OK);
+    }
+    
+    @Operation(summary = "Autocomplete product names", 
+            description = "Suggests products whose name has words starting with each word typed so far. "
+                    + "Served from an in-memory index that reflects product changes within about a second")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+                content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductSuggestion.class)))),
+        @ApiResponse(responseCode = "400", description = "Missing query or invalid limit",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class)))
+    })
+    @GetMapping("/autocomplete")
+    @TrackExecutionTime("Autocomplete Products")
+    public ResponseEntity<List<ProductSuggestion>> autocompleteProducts(
+            @Parameter(description = "Text typed so far", example = "wirel", required = true)
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Maximum number of suggestions", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        List<ProductSuggestion> suggestions = productService.autocomplete(q, limit);
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+    
+    @Operation(summary = "Get product by ID", 
+            description = "Retrieves a specific product by its ID. The ETag header carries the product version; "
+                    + "send it back as If-None-Match to get 304 while the product is unchanged")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Product found",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Product unchanged since the version given in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Product not found",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class)))
     })
     @GetMapping("/{id}")
     @TrackExecutionTime("Get Product By ID")
-    public ResponseEntity<ProductResponse> getProductById(
+    public ResponseEntity<MappingJacksonValue> getProductById(
             @Parameter(description = "Product ID", example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Comma separated product fields to return. All fields when omitted", example = "id,name,price")
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        Set<ProductField> selectedFields = ProductField.parse(fields);
+        // Served from the product cache, which holds complete products, so only the response is narrowed
         ProductResponse product = productService.getProductById(id);
-        return new ResponseEntity<>(product, HttpStatus.OK);
+        String eTag = toETag(product.getVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(withFields(product, selectedFields));
     }
     
-    @Operation(summary = "Update product", description = "Updates specific fields of an existing product")
+    @Operation(summary = "Update product", 
+            description = "Updates specific fields of an existing product. AdjustStockRequest changes stock by a signed "
+                    + "delta atomically and fails when the result would be negative")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Product updated successfully",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponse.class))),
         @ApiResponse(responseCode = "404", description = "Product not found",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Insufficient stock for the requested adjustment",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class))),
+        @ApiResponse(responseCode = "412", description = "Product modified since the version given in If-Match",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input data",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class))),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
@@ -108,8 +337,30 @@ public class ProductController {
     public ResponseEntity<ProductResponse> updateProduct(
             @Parameter(description = "Product ID", example = "1")
             @PathVariable Long id, 
+            @Parameter(description = "ETag of the product version being updated", example = "\"0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProductUpdateRequest request) {
-        ProductResponse response = productService.updateProduct(id, request);
+        ProductResponse response = productService.updateProduct(id, request, expectedVersions(id, ifMatch));
+        return ResponseEntity.ok().eTag(toETag(response.getVersion())).body(response);
+    }
+    
+    @Operation(summary = "Update products in bulk", 
+            description = "Applies price, stock and stock adjustment updates to many products in one transaction and "
+                    + "reports a result per item. ALL_OR_NOTHING (default) changes nothing if any item fails; "
+                    + "BEST_EFFORT applies the items that can be applied")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see the per-item results",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductBatchUpdateResponse.class))),
+        @ApiResponse(responseCode = "400", description = "No items or too many items",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Manager or Admin role required")
+    })
+    @SecurityRequirement(name = "basicAuth")
+    @PatchMapping("/batch")
+    @TrackExecutionTime("Batch Update Products")
+    public ResponseEntity<ProductBatchUpdateResponse> updateProducts(@Valid @RequestBody ProductBatchUpdateRequest request) {
+        ProductBatchUpdateResponse response = productBatchUpdateService.updateProducts(request);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
     
@@ -118,6 +369,8 @@ public class ProductController {
         @ApiResponse(responseCode = "204", description = "Product deleted successfully"),
         @ApiResponse(responseCode = "404", description = "Product not found",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class))),
+        @ApiResponse(responseCode = "412", description = "Product modified since the version given in If-Match",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class))),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
     })
     @SecurityRequirement(name = "basicAuth")
@@ -125,8 +378,55 @@ public class ProductController {
     @TrackExecutionTime("Delete Product")
     public ResponseEntity<Void> deleteProduct(
             @Parameter(description = "Product ID", example = "1")
-            @PathVariable Long id) {
-        productService.deleteProduct(id);
+            @PathVariable Long id,
+            @Parameter(description = "ETag of the product version being deleted", example = "\"0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        productService.deleteProduct(id, expectedVersions(id, ifMatch));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+    
+    /**
+     * Wraps a response so that the products it contains are written with the selected fields only
+     *
+     * @param fields the selected fields, or null to write every field
+     */
+    private static MappingJacksonValue withFields(Object body, Set<ProductField> fields) {
+        SimpleBeanPropertyFilter filter = fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(
+                        fields.stream().map(ProductField::getProperty).collect(Collectors.toSet()));
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(ProductResponse.FIELD_FILTER, filter));
+        return value;
+    }
+    
+    private static String toETag(Long version) {
+        return ETag.quoteETagIfNecessary(String.valueOf(version));
+    }
+    
+    /**
+     * Gets the product versions a conditional request accepts from its If-Match header. The request
+     * proceeds when the product's current version is any one of them.
+     *
+     * @return the expected versions, or null when the header is absent or "*"
+     * @throws ServiceException if the header holds no strong ETag issued by this API, which can never match
+     */
+    private static Set<Long> expectedVersions(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        List<ETag> eTags = ETag.parse(ifMatch);
+        if (eTags.stream().anyMatch(ETag::isWildcard)) {
+            return null;
+        }
+        // If-Match uses strong comparison, so weak tags never match
+        Set<Long> versions = eTags.stream()
+                .filter(eTag -> !eTag.weak() && VERSION_TAG.matcher(eTag.tag()).matches())
+                .map(eTag -> Long.valueOf(eTag.tag()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (versions.isEmpty()) {
+            throw new ServiceException(ServiceErrorType.PRODUCT_VERSION_MISMATCH, id);
+        }
+        return versions;
+    }
 }
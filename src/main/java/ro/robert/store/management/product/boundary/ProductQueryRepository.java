@@ -0,0 +1,69 @@
+package ro.robert.store.management.product.boundary;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ro.robert.store.management.product.entity.ProductCursor;
+import ro.robert.store.management.product.entity.ProductEntity;
+import ro.robert.store.management.product.entity.ProductField;
+import ro.robert.store.management.product.entity.ProductSearchCriteria;
+import ro.robert.store.management.product.entity.ProductSortKey;
+import ro.robert.store.management.product.entity.ProductSummary;
+import ro.robert.store.management.product.entity.ProductTextMatch;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Custom product queries that cannot be expressed as derived Spring Data queries.
+ */
+public interface ProductQueryRepository {
+    
+    /**
+     * Finds the next keyset page ordered by (sort key, id), seeking past the cursor with a
+     * row-value comparison so the database can start the scan directly at the cursor position.
+     *
+     * @param sortKey the sort key
+     * @param direction the sort direction
+     * @param after the position of the last row of the previous page, or null for the first page
+     * @param limit the maximum number of rows to return
+     * @return the products of the page
+     */
+    List<ProductEntity> findPageAfter(ProductSortKey sortKey, Sort.Direction direction, ProductCursor after, int limit);
+    
+    /**
+     * Finds an offset page of products selecting only the given columns, so unrequested columns such as
+     * the description are neither read nor transferred. Unselected fields are null in the projections.
+     *
+     * @param fields the fields to select
+     * @param pageable the page to read; sort properties must be product fields
+     * @param limit the maximum number of rows to return, which may exceed the page size to detect a next page
+     * @return the projected products of the page
+     */
+    List<ProductSummary> findPage(Set<ProductField> fields, Pageable pageable, int limit);
+    
+    /**
+     * Finds the next keyset page of products matching the search criteria, like {@link #findPageAfter},
+     * as projections that carry the description only when requested.
+     *
+     * @param criteria the search filters
+     * @param includeDescription whether to select the description column
+     * @param sortKey the sort key
+     * @param direction the sort direction
+     * @param after the position of the last row of the previous page, or null for the first page
+     * @param limit the maximum number of rows to return
+     * @return the matching products of the page
+     */
+    List<ProductSummary> searchPageAfter(ProductSearchCriteria criteria, boolean includeDescription,
+                                         ProductSortKey sortKey, Sort.Direction direction, ProductCursor after, int limit);
+    
+    /**
+     * Finds products whose name, category or description match a web-search style query
+     * (quoted phrases, OR, -exclusions) through the GIN-indexed search vector, most relevant first.
+     *
+     * @param query the user's search text
+     * @param offset the number of matches to skip
+     * @param limit the maximum number of matches to return
+     * @return the matches with their relevance scores
+     */
+    List<ProductTextMatch> searchText(String query, int offset, int limit);
+}
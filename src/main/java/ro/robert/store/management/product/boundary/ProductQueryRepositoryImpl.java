@@ -0,0 +1,216 @@
+package ro.robert.store.management.product.boundary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ro.robert.store.management.product.entity.ProductCursor;
+import ro.robert.store.management.product.entity.ProductEntity;
+import ro.robert.store.management.product.entity.ProductField;
+import ro.robert.store.management.product.entity.ProductSearchCriteria;
+import ro.robert.store.management.product.entity.ProductSortKey;
+import ro.robert.store.management.product.entity.ProductSummary;
+import ro.robert.store.management.product.entity.ProductTextMatch;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Spring Data fragment implementation of {@link ProductQueryRepository}.
+ * Queries are assembled from {@link ProductSortKey} and {@link ProductField} properties only, never from raw client input.
+ */
+public class ProductQueryRepositoryImpl implements ProductQueryRepository {
+    
+    private static final char LIKE_ESCAPE = '!';
+    
+    // The text search configuration must match the one of the product.search_vector generated column (V9)
+    // Normalization 32 scales the rank to rank / (rank + 1), so scores fall between 0 and 1
+    private static final String TEXT_SEARCH_SQL = """
+            SELECT p.id, p.name, p.description, p.category, p.price, p.quantity, p.created_at, p.updated_at, p.version,
+                   ts_rank_cd(p.search_vector, q.query, 32) AS score
+            FROM product p, websearch_to_tsquery('english', :query) AS q(query)
+            WHERE p.search_vector @@ q.query
+            ORDER BY score DESC, p.id
+            OFFSET :offset LIMIT :limit""";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<ProductEntity> findPageAfter(ProductSortKey sortKey, Sort.Direction direction, ProductCursor after, int limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        addKeysetPredicate(sortKey, direction, after, predicates, parameters);
+        
+        StringBuilder jpql = new StringBuilder("SELECT p FROM ProductEntity p");
+        appendWhere(jpql, predicates);
+        appendOrderBy(jpql, sortKey, direction);
+        
+        return createQuery(jpql, ProductEntity.class, parameters, limit).getResultList();
+    }
+    
+    @Override
+    public List<ProductSummary> findPage(Set<ProductField> fields, Pageable pageable, int limit) {
+        StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM ProductEntity p");
+        fields.forEach(field -> select.add("p." + field.getProperty()));
+        StringBuilder jpql = new StringBuilder(select.toString());
+        if (pageable.getSort().isSorted()) {
+            StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+            for (Sort.Order order : pageable.getSort()) {
+                ProductField field = ProductField.fromProperty(order.getProperty());
+                orderBy.add("p." + field.getProperty() + (order.isAscending() ? " ASC" : " DESC"));
+            }
+            jpql.append(orderBy);
+        }
+        
+        return createQuery(jpql, Tuple.class, Map.of(), limit)
+                .setFirstResult((int) pageable.getOffset())
+                .getResultList()
+                .stream()
+                .map(row -> toSummary(row, fields))
+                .toList();
+    }
+    
+    @Override
+    public List<ProductSummary> searchPageAfter(ProductSearchCriteria criteria, boolean includeDescription,
+                                                ProductSortKey sortKey, Sort.Direction direction,
+                                                ProductCursor after, int limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        if (criteria.category() != null) {
+            predicates.add("p.category = :category");
+            parameters.put("category", criteria.category());
+        }
+        if (criteria.minPrice() != null) {
+            predicates.add("p.price >= :minPrice");
+            parameters.put("minPrice", criteria.minPrice());
+        }
+        if (criteria.maxPrice() != null) {
+            predicates.add("p.price <= :maxPrice");
+            parameters.put("maxPrice", criteria.maxPrice());
+        }
+        if (criteria.inStock()) {
+            predicates.add("p.quantity > 0");
+        }
+        if (criteria.namePrefix() != null) {
+            // Matches the lower(name) text_pattern_ops index, which serves left-anchored LIKE patterns
+            predicates.add("LOWER(p.name) LIKE :namePrefix ESCAPE '" + LIKE_ESCAPE + "'");
+            parameters.put("namePrefix", toLikePrefix(criteria.namePrefix()));
+        }
+        addKeysetPredicate(sortKey, direction, after, predicates, parameters);
+        
+        // The constructor expression selects only the listed columns, so description is not read unless requested
+        StringBuilder jpql = new StringBuilder("SELECT new ").append(ProductSummary.class.getName()).append("(p.id, p.name, ");
+        if (includeDescription) {
+            jpql.append("p.description, ");
+        }
+        jpql.append("p.category, p.price, p.quantity, p.createdAt, p.updatedAt, p.version) FROM ProductEntity p");
+        appendWhere(jpql, predicates);
+        appendOrderBy(jpql, sortKey, direction);
+        
+        return createQuery(jpql, ProductSummary.class, parameters, limit).getResultList();
+    }
+    
+    @Override
+    public List<ProductTextMatch> searchText(String query, int offset, int limit) {
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> nativeQuery = entityManager.createNativeQuery(TEXT_SEARCH_SQL)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("name", String.class)
+                .addScalar("description", String.class)
+                .addScalar("category", String.class)
+                .addScalar("price", BigDecimal.class)
+                .addScalar("quantity", Integer.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .addScalar("version", Long.class)
+                .addScalar("score", Double.class);
+        nativeQuery.setParameter("query", query);
+        nativeQuery.setParameter("offset", offset);
+        nativeQuery.setParameter("limit", limit);
+        
+        return nativeQuery.getResultList().stream()
+                .map(row -> new ProductTextMatch(
+                        new ProductSummary((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                                (BigDecimal) row[4], (Integer) row[5], (LocalDateTime) row[6], (LocalDateTime) row[7],
+                                (Long) row[8]),
+                        (Double) row[9]))
+                .toList();
+    }
+    
+    private void addKeysetPredicate(ProductSortKey sortKey, Sort.Direction direction, ProductCursor after,
+                                    List<String> predicates, Map<String, Object> parameters) {
+        if (after == null) {
+            return;
+        }
+        String comparison = direction.isAscending() ? ">" : "<";
+        if (sortKey == ProductSortKey.ID) {
+            predicates.add("p.id " + comparison + " :lastId");
+        } else {
+            predicates.add("(p." + sortKey.getProperty() + ", p.id) " + comparison + " (:lastValue, :lastId)");
+            parameters.put("lastValue", after.lastValue());
+        }
+        parameters.put("lastId", after.lastId());
+    }
+    
+    private void appendWhere(StringBuilder jpql, List<String> predicates) {
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+    }
+    
+    private void appendOrderBy(StringBuilder jpql, ProductSortKey sortKey, Sort.Direction direction) {
+        String order = direction.isAscending() ? "ASC" : "DESC";
+        jpql.append(" ORDER BY ");
+        if (sortKey != ProductSortKey.ID) {
+            jpql.append("p.").append(sortKey.getProperty()).append(' ').append(order).append(", ");
+        }
+        jpql.append("p.id ").append(order);
+    }
+    
+    private <T> TypedQuery<T> createQuery(StringBuilder jpql, Class<T> resultType, Map<String, Object> parameters, int limit) {
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), resultType)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+    
+    /**
+     * Maps a row of {@link #findPage} to a projection. The row holds the selected fields in declaration order.
+     */
+    private static ProductSummary toSummary(Tuple row, Set<ProductField> fields) {
+        Object[] values = new Object[ProductField.values().length];
+        int column = 0;
+        for (ProductField field : fields) {
+            values[field.ordinal()] = row.get(column++);
+        }
+        return new ProductSummary((Long) values[0], (String) values[1], (String) values[2], (String) values[3],
+                (BigDecimal) values[4], (Integer) values[5], (LocalDateTime) values[6], (LocalDateTime) values[7],
+                (Long) values[8]);
+    }
+    
+    /**
+     * Turns a client supplied prefix into a lower-case LIKE pattern, escaping the wildcards it may contain
+     */
+    private static String toLikePrefix(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 1);
+        for (char c : prefix.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -1,9 +1,60 @@
 package ro.robert.store.management.product.boundary;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ro.robert.store.management.product.entity.ProductEntity;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
+public interface ProductRepository extends JpaRepository<ProductEntity, Long>, ProductQueryRepository {
+    
+    /**
+     * Finds a page of products without running a count query
+     */
+    Slice<ProductEntity> findAllBy(Pageable pageable);
+    
+    /**
+     * Streams all products in ID order from a database cursor, fetching rows in chunks instead of
+     * loading the result. Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM ProductEntity p ORDER BY p.id")
+    Stream<ProductEntity> streamAll();
+    
+    /**
+     * Gets the planner's row estimate for the product table from PostgreSQL statistics.
+     * Returns a negative value when the table has never been analyzed.
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('product' AS regclass)", nativeQuery = true)
+    long estimateCount();
+    
+    /**
+     * Gets a product's current version without loading the entity
+     */
+    @Query("SELECT p.version FROM ProductEntity p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
+    /**
+     * Adds a signed delta to a product's quantity in a single conditional statement, so concurrent
+     * adjustments are serialized by the row lock instead of overwriting each other. The version is
+     * incremented like any other update. Returns empty when the product does not exist, the result
+     * would be negative, or an expected version is given and does not match.
+     */
+    @Query(value = "UPDATE product SET quantity = quantity + :delta, updated_at = LOCALTIMESTAMP, version = version + 1 "
+            + "WHERE id = :id AND quantity + :delta >= 0 "
+            + "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = CAST(:expectedVersion AS BIGINT)) RETURNING *", nativeQuery = true)
+    Optional<ProductEntity> adjustQuantity(@Param("id") Long id, @Param("delta") int delta,
+                                           @Param("expectedVersion") Long expectedVersion);
 }
@@ -0,0 +1,541 @@
+package ro.robert.store.management.product.control;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+import ro.robert.store.management.product.entity.event.ProductDeletedEvent;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
+import ro.robert.store.management.product.entity.event.ProductsImportedEvent;
+import ro.robert.store.management.product.entity.response.ProductSuggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process prefix index over normalized product name tokens, serving autocomplete suggestions
+ * without a database round trip.
+ * <p>
+ * The index is an immutable snapshot of sorted primitive arrays: distinct tokens, and per token the
+ * ascending IDs of the products whose name contains it. Readers use the current snapshot without locking.
+ * Product events queue changes that a scheduled task merges into a new snapshot, so a burst of writes costs
+ * one linear merge instead of one per write. The number of indexed products is capped, which bounds heap use.
+ * Changes are only queued while the index is built or being built; a failed build is retried by the scheduled task.
+ */
+@Slf4j
+@Component
+public class ProductAutocompleteIndex {
+
+    private static final String LOAD_SQL = "SELECT id, name FROM product ORDER BY id";
+    private static final String RELOAD_SQL = "SELECT id, name FROM product WHERE id IN (%s)";
+    private static final int RELOAD_CHUNK_SIZE = 500;
+    private static final int LOAD_FETCH_SIZE = 1000;
+    private static final int MAX_TOKENS_PER_NAME = 16;
+    private static final int MAX_TOKEN_LENGTH = 32;
+    // Bounds the work per request when many indexed names share the prefix but fail the other query tokens
+    private static final int MAX_SCANNED_POSTINGS = 10_000;
+    private static final int MAX_TOKENS_CHECKED_BY_POSTINGS = 16;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int maxProducts;
+    private final int maxResults;
+    private final Queue<Change> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Changes polled by a merge that failed, retried before newer queued changes; guarded by writeLock
+    private final Map<Long, Change> unappliedChanges = new HashMap<>();
+    // Null until the initial build completed
+    private volatile Snapshot snapshot;
+    // Set while a build reads the product table, so changes committed during the read are still queued
+    private volatile boolean building;
+
+    @Autowired
+    public ProductAutocompleteIndex(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.product.autocomplete.enabled:true}") boolean enabled,
+            @Value("${app.product.autocomplete.max-products:1000000}") int maxProducts,
+            @Value("${app.product.autocomplete.max-results:20}") int maxResults) {
+        this(jdbcTemplate, enabled, maxProducts, maxResults);
+
+        Gauge.builder("product.autocomplete.products", this, index -> index.current().productIds.length)
+                .description("Products in the autocomplete index")
+                .register(meterRegistry);
+        Gauge.builder("product.autocomplete.tokens", this, index -> index.current().tokens.length)
+                .description("Distinct name tokens in the autocomplete index")
+                .register(meterRegistry);
+    }
+
+    ProductAutocompleteIndex(JdbcTemplate jdbcTemplate, boolean enabled, int maxProducts, int maxResults) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.maxProducts = maxProducts;
+        this.maxResults = maxResults;
+
+        log.info("ProductAutocompleteIndex initialized - enabled: {}, max products: {}, max results: {}",
+                enabled, maxProducts, maxResults);
+    }
+
+    /**
+     * Builds the index from the product table once the application has started. Until it completes,
+     * {@link #isReady()} is false and callers fall back to the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (snapshot != null) {
+                return;
+            }
+            building = true;
+            long start = System.nanoTime();
+            LongBuffer ids = new LongBuffer(1024);
+            List<String> names = new ArrayList<>(1024);
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(LOAD_SQL);
+                statement.setFetchSize(LOAD_FETCH_SIZE);
+                statement.setMaxRows(maxProducts);
+                return statement;
+            }, resultSet -> {
+                ids.add(resultSet.getLong(1));
+                names.add(resultSet.getString(2));
+            });
+
+            snapshot = Snapshot.EMPTY.merge(ids.toArray(), names.toArray(String[]::new), maxProducts);
+            log.info("Product autocomplete index built - products: {}, tokens: {}, took: {} ms",
+                    snapshot.productIds.length, snapshot.tokens.length, (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException e) {
+            // The next build reads these changes from the table
+            pendingChanges.clear();
+            log.warn("Could not build the product autocomplete index - suggestions will use the database: {}", e.getMessage());
+        } finally {
+            building = false;
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Merges the changes queued by product events into a new snapshot. Imported products are
+     * read back from the database here, off the request thread. When they cannot be read, the changes
+     * are kept and retried on the next run. Builds the index instead while the initial build has not succeeded.
+     */
+    @Scheduled(fixedDelayString = "${app.product.autocomplete.refresh-interval:1s}")
+    public void applyPendingChanges() {
+        if (!enabled) {
+            return;
+        }
+        if (snapshot == null) {
+            build();
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (pendingChanges.isEmpty() && unappliedChanges.isEmpty()) {
+                return;
+            }
+            // Later changes of the same product replace earlier ones
+            Map<Long, Change> latest = new HashMap<>(unappliedChanges);
+            unappliedChanges.clear();
+            for (Change change = pendingChanges.poll(); change != null; change = pendingChanges.poll()) {
+                latest.put(change.productId(), change);
+            }
+
+            TreeMap<Long, String> changes = new TreeMap<>();
+            List<Long> reloadIds = new ArrayList<>();
+            for (Change change : latest.values()) {
+                if (change.reload()) {
+                    reloadIds.add(change.productId());
+                } else if (change.name() != null && change.name().equals(snapshot.nameOf(change.productId()))) {
+                    // Updates carry the current name; only a renamed product needs re-indexing
+                    continue;
+                }
+                changes.put(change.productId(), change.name());
+            }
+            try {
+                // Products that are no longer found stay mapped to null and are removed
+                loadNames(reloadIds, changes);
+            } catch (DataAccessException e) {
+                unappliedChanges.putAll(latest);
+                log.warn("Could not update the product autocomplete index - {} changes retried on the next run: {}",
+                        latest.size(), e.getMessage());
+                return;
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            long[] ids = changes.keySet().stream().mapToLong(Long::longValue).toArray();
+            String[] names = changes.values().toArray(String[]::new);
+            snapshot = snapshot.merge(ids, names, maxProducts);
+            log.debug("Applied {} changes to the product autocomplete index", ids.length);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Queues the change described by a product event once its transaction has committed
+     *
+     * @param event the published product event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        // Without an index or a build in progress, the next build reads the change from the table
+        if (!enabled || (snapshot == null && !building)) {
+            return;
+        }
+        if (event instanceof ProductCreatedEvent created) {
+            pendingChanges.add(new Change(created.getProductId(), created.getProductName(), false));
+        } else if (event instanceof ProductUpdatedEvent updated) {
+            // Unchanged names are skipped when the changes are merged, against the latest queued name
+            pendingChanges.add(new Change(updated.getProductId(), updated.getProductName(), false));
+        } else if (event instanceof ProductDeletedEvent deleted) {
+            pendingChanges.add(new Change(deleted.getProductId(), null, false));
+        } else if (event instanceof ProductsImportedEvent imported) {
+            imported.getProductIds().forEach(id -> pendingChanges.add(new Change(id, null, true)));
+        }
+    }
+
+    /**
+     * Tells whether the initial build completed and suggestions can be served from memory
+     *
+     * @return true once the index is built
+     */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Caps a requested number of suggestions to the configured maximum
+     *
+     * @param limit the requested number of suggestions
+     * @return the number of suggestions that will be returned at most
+     */
+    public int cap(int limit) {
+        return Math.min(limit, maxResults);
+    }
+
+    /**
+     * Suggests products whose name has a token starting with each token of the query. Suggestions are
+     * ordered by the matched token, so exact token matches come before longer words, then by product ID.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions, capped to the configured maximum
+     * @return the suggestions, empty when the index is not built or the query has no tokens
+     */
+    public List<ProductSuggestion> suggest(String query, int limit) {
+        Snapshot current = snapshot;
+        List<String> queryTokens = tokenize(query);
+        int cappedLimit = cap(limit);
+        if (current == null || queryTokens.isEmpty() || cappedLimit < 1) {
+            return List.of();
+        }
+
+        // Scan the prefix range with the fewest postings and check the other query tokens per product
+        List<TokenRange> ranges = queryTokens.stream().map(current::range).toList();
+        TokenRange scanRange = Collections.min(ranges, Comparator.comparingInt(current::postingCount));
+        List<TokenRange> otherRanges = ranges.stream().filter(range -> range != scanRange).toList();
+
+        List<ProductSuggestion> suggestions = new ArrayList<>(cappedLimit);
+        Set<Long> suggestedIds = new HashSet<>();
+        int scanned = 0;
+        for (int t = scanRange.from(); t < scanRange.to(); t++) {
+            for (int p = current.offsets[t]; p < current.offsets[t + 1]; p++) {
+                if (++scanned > MAX_SCANNED_POSTINGS) {
+                    return suggestions;
+                }
+                long id = current.postings[p];
+                if (suggestedIds.contains(id) || !current.matchesAll(id, otherRanges)) {
+                    continue;
+                }
+                suggestedIds.add(id);
+                suggestions.add(new ProductSuggestion(id, current.nameOf(id)));
+                if (suggestions.size() == cappedLimit) {
+                    return suggestions;
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : Snapshot.EMPTY;
+    }
+
+    private void loadNames(List<Long> ids, Map<Long, String> names) {
+        for (int from = 0; from < ids.size(); from += RELOAD_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + RELOAD_CHUNK_SIZE, ids.size()));
+            String placeholders = chunk.stream().map(id -> "?").collect(Collectors.joining(","));
+            jdbcTemplate.query(String.format(RELOAD_SQL, placeholders),
+                    resultSet -> {
+                        names.put(resultSet.getLong(1), resultSet.getString(2));
+                    },
+                    chunk.toArray());
+        }
+    }
+
+    /**
+     * Splits a name into distinct lower-case tokens of letters and digits, with accents removed
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+                if (tokens.size() == MAX_TOKENS_PER_NAME) {
+                    break;
+                }
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    /**
+     * A queued change: the product's new name, null for a removal, or a product to read back from the database
+     */
+    private record Change(long productId, String name, boolean reload) {
+    }
+
+    /**
+     * The tokens starting with a query token: tokens[from] up to tokens[to] of a snapshot
+     */
+    private record TokenRange(String prefix, int from, int to) {
+    }
+
+    /**
+     * Immutable index generation. The postings of tokens[i] are postings[offsets[i]] up to postings[offsets[i + 1]].
+     */
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new long[0], new String[0], new String[0], new int[] {0}, new long[0]);
+
+        private final long[] productIds;
+        private final String[] names;
+        private final String[] tokens;
+        private final int[] offsets;
+        private final long[] postings;
+
+        private Snapshot(long[] productIds, String[] names, String[] tokens, int[] offsets, long[] postings) {
+            this.productIds = productIds;
+            this.names = names;
+            this.tokens = tokens;
+            this.offsets = offsets;
+            this.postings = postings;
+        }
+
+        private String nameOf(long productId) {
+            int index = Arrays.binarySearch(productIds, productId);
+            return index >= 0 ? names[index] : null;
+        }
+
+        private TokenRange range(String prefix) {
+            // No normalized token contains MAX_VALUE, so it sorts after every token starting with the prefix
+            return new TokenRange(prefix, indexOf(prefix), indexOf(prefix + Character.MAX_VALUE));
+        }
+
+        private int indexOf(String token) {
+            int index = Arrays.binarySearch(tokens, token);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        private int postingCount(TokenRange range) {
+            return offsets[range.to()] - offsets[range.from()];
+        }
+
+        /**
+         * Checks that the product has a token in each range. Ranges of few tokens are checked by searching
+         * those tokens' postings; wider ones by tokenizing the product name.
+         */
+        private boolean matchesAll(long productId, List<TokenRange> ranges) {
+            List<String> nameTokens = null;
+            for (TokenRange range : ranges) {
+                boolean found = false;
+                if (range.to() - range.from() <= MAX_TOKENS_CHECKED_BY_POSTINGS) {
+                    for (int t = range.from(); t < range.to() && !found; t++) {
+                        found = Arrays.binarySearch(postings, offsets[t], offsets[t + 1], productId) >= 0;
+                    }
+                } else {
+                    nameTokens = nameTokens != null ? nameTokens : tokenize(nameOf(productId));
+                    found = nameTokens.stream().anyMatch(token -> token.startsWith(range.prefix()));
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Creates the next generation with the given products changed, in time linear in the index size.
+         *
+         * @param changedIds the changed product IDs in ascending order
+         * @param changedNames the new names, null for removed products
+         * @param maxProducts the maximum number of indexed products; further new products are skipped
+         */
+        private Snapshot merge(long[] changedIds, String[] changedNames, int maxProducts) {
+            // Merge the product lists and collect the postings of the added or renamed products
+            LongBuffer ids = new LongBuffer(productIds.length + changedIds.length);
+            List<String> mergedNames = new ArrayList<>(productIds.length + changedIds.length);
+            Map<String, LongBuffer> addedPostings = new HashMap<>();
+            int skipped = 0;
+            int i = 0;
+            int c = 0;
+            while (i < productIds.length || c < changedIds.length) {
+                if (c == changedIds.length || (i < productIds.length && productIds[i] < changedIds[c])) {
+                    ids.add(productIds[i]);
+                    mergedNames.add(names[i++]);
+                    continue;
+                }
+                boolean existing = i < productIds.length && productIds[i] == changedIds[c];
+                if (existing) {
+                    i++;
+                }
+                String name = changedNames[c];
+                if (name != null && (existing || ids.size() + (productIds.length - i) < maxProducts)) {
+                    ids.add(changedIds[c]);
+                    mergedNames.add(name);
+                    for (String token : tokenize(name)) {
+                        addedPostings.computeIfAbsent(token, key -> new LongBuffer(4)).add(changedIds[c]);
+                    }
+                } else if (name != null) {
+                    skipped++;
+                }
+                c++;
+            }
+            if (skipped > 0) {
+                log.warn("Product autocomplete index is full ({} products) - {} products not indexed", maxProducts, skipped);
+            }
+
+            // Merge the token lists, dropping the old postings of every changed product
+            long minChangedId = changedIds.length > 0 ? changedIds[0] : Long.MAX_VALUE;
+            long maxChangedId = changedIds.length > 0 ? changedIds[changedIds.length - 1] : Long.MIN_VALUE;
+            String[] addedTokens = addedPostings.keySet().toArray(String[]::new);
+            Arrays.sort(addedTokens);
+            List<String> mergedTokens = new ArrayList<>(tokens.length + addedTokens.length);
+            IntBuffer mergedOffsets = new IntBuffer(tokens.length + addedTokens.length + 1);
+            LongBuffer mergedPostings = new LongBuffer(postings.length + changedIds.length);
+            mergedOffsets.add(0);
+            int t = 0;
+            int a = 0;
+            while (t < tokens.length || a < addedTokens.length) {
+                int order = t == tokens.length ? 1 : a == addedTokens.length ? -1 : tokens[t].compareTo(addedTokens[a]);
+                String token = order <= 0 ? tokens[t] : addedTokens[a];
+                long[] added = order >= 0 ? addedPostings.get(addedTokens[a]).toArray() : new long[0];
+                int from = order <= 0 ? offsets[t] : 0;
+                int to = order <= 0 ? offsets[t + 1] : 0;
+
+                int before = mergedPostings.size();
+                int k = 0;
+                for (int p = from; p < to; p++) {
+                    long id = postings[p];
+                    while (k < added.length && added[k] < id) {
+                        mergedPostings.add(added[k++]);
+                    }
+                    if (id < minChangedId || id > maxChangedId || Arrays.binarySearch(changedIds, id) < 0) {
+                        mergedPostings.add(id);
+                    }
+                }
+                while (k < added.length) {
+                    mergedPostings.add(added[k++]);
+                }
+                if (mergedPostings.size() > before) {
+                    mergedTokens.add(token);
+                    mergedOffsets.add(mergedPostings.size());
+                }
+
+                if (order <= 0) {
+                    t++;
+                }
+                if (order >= 0) {
+                    a++;
+                }
+            }
+
+            return new Snapshot(ids.toArray(), mergedNames.toArray(String[]::new), mergedTokens.toArray(String[]::new),
+                    mergedOffsets.toArray(), mergedPostings.toArray());
+        }
+    }
+
+    private static final class LongBuffer {
+
+        private long[] values;
+        private int size;
+
+        private LongBuffer(int capacity) {
+            values = new long[Math.max(capacity, 1)];
+        }
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class IntBuffer {
+
+        private int[] values;
+        private int size;
+
+        private IntBuffer(int capacity) {
+            values = new int[Math.max(capacity, 1)];
+        }
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package ro.robert.store.management.product.control;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.robert.store.management.exception.entity.ServiceErrorType;
+import ro.robert.store.management.exception.entity.ServiceException;
+import ro.robert.store.management.product.entity.ProductBatchUpdateMode;
+import ro.robert.store.management.product.entity.ProductBatchUpdateStatus;
+import ro.robert.store.management.product.entity.ProductEntity;
+import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
+import ro.robert.store.management.product.entity.request.AdjustStockRequest;
+import ro.robert.store.management.product.entity.request.ProductBatchUpdateItem;
+import ro.robert.store.management.product.entity.request.ProductBatchUpdateRequest;
+import ro.robert.store.management.product.entity.request.ProductUpdateRequest;
+import ro.robert.store.management.product.entity.request.UpdatePriceRequest;
+import ro.robert.store.management.product.entity.request.UpdateStockRequest;
+import ro.robert.store.management.product.entity.response.ProductBatchUpdateResponse;
+import ro.robert.store.management.product.entity.response.ProductBatchUpdateResult;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies price and stock updates to many products in one transaction: the affected rows are read and
+ * locked with one query, the items are applied in memory in request order, and the changed rows are
+ * written with one JDBC batch. Events are published together once the batch is written.
+ */
+@Slf4j
+@Service
+public class ProductBatchUpdateService {
+
+    // Rows are locked in ID order so concurrent batches over the same products cannot deadlock
+    private static final String SELECT_FOR_UPDATE_SQL =
+            "SELECT id, name, price, quantity, version FROM product WHERE id IN (%s) ORDER BY id FOR UPDATE";
+    private static final String UPDATE_SQL =
+            "UPDATE product SET price = ?, quantity = ?, updated_at = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ProductEventPublisher productEventPublisher;
+    private final ProductMapper productMapper;
+    private final int maxItems;
+
+    public ProductBatchUpdateService(
+            JdbcTemplate jdbcTemplate,
+            Validator validator,
+            ProductEventPublisher productEventPublisher,
+            ProductMapper productMapper,
+            @Value("${app.product.batch-update.max-items:1000}") int maxItems) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.productEventPublisher = productEventPublisher;
+        this.productMapper = productMapper;
+        this.maxItems = maxItems;
+
+        log.info("ProductBatchUpdateService initialized - max items: {}", maxItems);
+    }
+
+    /**
+     * Applies a batch of product updates. Items are applied in request order, so several items may
+     * change the same product; each product is still written once. With
+     * {@link ProductBatchUpdateMode#ALL_OR_NOTHING} nothing is written if any item fails.
+     *
+     * @param request the batch
+     * @return one result per item
+     * @throws ServiceException if the batch is empty or larger than the configured maximum
+     */
+    @Transactional
+    public ProductBatchUpdateResponse updateProducts(ProductBatchUpdateRequest request) {
+        List<ProductBatchUpdateItem> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR, "At least one item is required");
+        }
+        if (items.size() > maxItems) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR,
+                    "At most " + maxItems + " items can be updated at once");
+        }
+        ProductBatchUpdateMode mode = request.getMode() != null ? request.getMode() : ProductBatchUpdateMode.ALL_OR_NOTHING;
+
+        ProductBatchUpdateResult[] results = new ProductBatchUpdateResult[items.size()];
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            ServiceException error = validate(items.get(i));
+            if (error != null) {
+                results[i] = failed(i, items.get(i), error);
+            } else {
+                productIds.add(items.get(i).getProductId());
+            }
+        }
+
+        Map<Long, ProductRow> rows = lockProducts(productIds);
+        List<ProductUpdatedEvent> events = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            ProductBatchUpdateItem item = items.get(i);
+            try {
+                events.add(apply(item, rows.get(item.getProductId())));
+                results[i] = new ProductBatchUpdateResult(i, item.getProductId(), ProductBatchUpdateStatus.UPDATED, null, null, null);
+            } catch (ServiceException e) {
+                results[i] = failed(i, item, e);
+            }
+        }
+
+        int failedItems = (int) Arrays.stream(results).filter(result -> result.getStatus() == ProductBatchUpdateStatus.FAILED).count();
+        if (mode == ProductBatchUpdateMode.ALL_OR_NOTHING && failedItems > 0) {
+            log.debug("Batch update of {} items not applied - {} items failed", items.size(), failedItems);
+            Arrays.stream(results)
+                    .filter(result -> result.getStatus() == ProductBatchUpdateStatus.UPDATED)
+                    .forEach(result -> result.setStatus(ProductBatchUpdateStatus.NOT_APPLIED));
+            return new ProductBatchUpdateResponse(mode, items.size(), 0, failedItems, List.of(results));
+        }
+
+        List<ProductRow> changedRows = rows.values().stream().filter(row -> row.changed).toList();
+        writeRows(changedRows);
+        for (ProductBatchUpdateResult result : results) {
+            if (result.getStatus() == ProductBatchUpdateStatus.UPDATED) {
+                // Each product is written once, whatever the number of items that changed it
+                result.setVersion(rows.get(result.getProductId()).version + 1);
+            }
+        }
+        productEventPublisher.publishEvents(events);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Batch update applied - items: {}, updated: {}, failed: {}, products written: {}",
+                    items.size(), items.size() - failedItems, failedItems, changedRows.size());
+        }
+        return new ProductBatchUpdateResponse(mode, items.size(), items.size() - failedItems, failedItems, List.of(results));
+    }
+
+    /**
+     * Checks an item on its own, before any product is read
+     *
+     * @return the reason the item is rejected, or null if it is valid
+     */
+    private ServiceException validate(ProductBatchUpdateItem item) {
+        if (item == null || item.getProductId() == null) {
+            return new ServiceException(ServiceErrorType.VALIDATION_ERROR, "Product id is required");
+        }
+        ProductUpdateRequest update = item.getUpdate();
+        if (update == null) {
+            return new ServiceException(ServiceErrorType.VALIDATION_ERROR, "Update is required");
+        }
+        if (!(update instanceof UpdatePriceRequest || update instanceof UpdateStockRequest || update instanceof AdjustStockRequest)) {
+            return new ServiceException(ServiceErrorType.UNSUPPORTED_UPDATE_TYPE, update.getType());
+        }
+        Set<ConstraintViolation<ProductUpdateRequest>> violations = validator.validate(update);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return new ServiceException(ServiceErrorType.VALIDATION_ERROR, message);
+        }
+        return null;
+    }
+
+    private Map<Long, ProductRow> lockProducts(Set<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        String sql = String.format(SELECT_FOR_UPDATE_SQL, String.join(", ", Collections.nCopies(productIds.size(), "?")));
+        List<Long> ids = List.copyOf(productIds);
+        List<ProductRow> rows = jdbcTemplate.query(sql,
+                ps -> {
+                    for (int i = 0; i < ids.size(); i++) {
+                        ps.setLong(i + 1, ids.get(i));
+                    }
+                },
+                (rs, rowNum) -> new ProductRow(rs.getLong("id"), rs.getString("name"), rs.getBigDecimal("price"),
+                        rs.getInt("quantity"), rs.getLong("version")));
+        Map<Long, ProductRow> rowsById = new LinkedHashMap<>();
+        rows.forEach(row -> rowsById.put(row.id, row));
+        return rowsById;
+    }
+
+    /**
+     * Applies an item to the locked product row, leaving the row untouched if the item fails
+     *
+     * @return the event describing the change
+     * @throws ServiceException if the product does not exist, has another version, has too little stock,
+     *                          or the adjusted quantity does not fit
+     */
+    private ProductUpdatedEvent apply(ProductBatchUpdateItem item, ProductRow row) {
+        if (row == null) {
+            throw new ServiceException(ServiceErrorType.PRODUCT_NOT_FOUND, item.getProductId());
+        }
+        if (item.getExpectedVersion() != null && item.getExpectedVersion() != row.version) {
+            throw new ServiceException(ServiceErrorType.PRODUCT_VERSION_MISMATCH, row.id);
+        }
+
+        if (item.getUpdate() instanceof UpdatePriceRequest priceRequest) {
+            String oldValue = row.price.toString();
+            row.price = priceRequest.getPrice();
+            row.changed = true;
+            return productMapper.toUpdatedEvent(row.id, row.name, ProductUpdatedEvent.FIELD_PRICE,
+                    oldValue, row.price.toString());
+        }
+
+        int quantity = item.getUpdate() instanceof AdjustStockRequest adjustRequest
+                ? adjustedQuantity(row, adjustRequest.getDelta())
+                : ((UpdateStockRequest) item.getUpdate()).getQuantity();
+        if (quantity < 0) {
+            throw new ServiceException(ServiceErrorType.INSUFFICIENT_STOCK, row.id);
+        }
+        String oldValue = String.valueOf(row.quantity);
+        row.quantity = quantity;
+        row.changed = true;
+        return productMapper.toUpdatedEvent(row.id, row.name, ProductUpdatedEvent.FIELD_QUANTITY,
+                oldValue, String.valueOf(row.quantity));
+    }
+
+    private static int adjustedQuantity(ProductRow row, int delta) {
+        try {
+            return Math.addExact(row.quantity, delta);
+        } catch (ArithmeticException e) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR,
+                    "Adjusted quantity of product " + row.id + " is out of range");
+        }
+    }
+
+    private void writeRows(List<ProductRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] updateCounts = jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ProductRow row = rows.get(i);
+                ps.setBigDecimal(1, row.price);
+                ps.setInt(2, row.quantity);
+                ps.setTimestamp(3, now);
+                ps.setLong(4, row.id);
+                ps.setLong(5, row.version);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        // The rows are locked, so this only fails if they were changed outside of row locking
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                throw new ObjectOptimisticLockingFailureException(ProductEntity.class, rows.get(i).id);
+            }
+        }
+    }
+
+    private static ProductBatchUpdateResult failed(int index, ProductBatchUpdateItem item, ServiceException error) {
+        return new ProductBatchUpdateResult(index, item != null ? item.getProductId() : null,
+                ProductBatchUpdateStatus.FAILED, null, error.getErrorCode(), error.getMessage());
+    }
+
+    /**
+     * Working copy of a locked product row
+     */
+    private static final class ProductRow {
+
+        private final long id;
+        private final String name;
+        private final long version;
+        private BigDecimal price;
+        private int quantity;
+        private boolean changed;
+
+        private ProductRow(long id, String name, BigDecimal price, int quantity, long version) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.quantity = quantity;
+            this.version = version;
+        }
+    }
+}
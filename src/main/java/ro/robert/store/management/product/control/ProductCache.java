@@ -0,0 +1,144 @@
+package ro.robert.store.management.product.control;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+import ro.robert.store.management.product.entity.response.ProductResponse;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process read-through cache of product responses keyed by product ID.
+ * Entries are evicted when a product event is published, once the publishing transaction commits.
+ * <p>
+ * Concurrent misses for the same product wait for a single load. The load runs on the calling thread
+ * but outside of the cache's map locks, so a virtual thread blocked on the database does not pin its
+ * carrier thread.
+ */
+@Slf4j
+@Component
+public class ProductCache {
+
+    private final boolean enabled;
+    private final AsyncCache<Long, ProductResponse> cache;
+
+    public ProductCache(
+            @Value("${app.product.cache.enabled:true}") boolean enabled,
+            @Value("${app.product.cache.max-size:10000}") long maxSize,
+            @Value("${app.product.cache.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "products");
+        log.info("ProductCache initialized - enabled: {}, max size: {}, ttl: {}", enabled, maxSize, ttl);
+    }
+
+    /**
+     * Gets a product from the cache, loading and caching it on a miss
+     *
+     * @param id the product ID
+     * @param loader loads the product when it is not cached; exceptions are propagated and nothing is cached
+     * @return the product response
+     */
+    public ProductResponse get(Long id, Function<Long, ProductResponse> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        CompletableFuture<ProductResponse> loading = new CompletableFuture<>();
+        CompletableFuture<ProductResponse> future = cache.get(id, (key, executor) -> loading);
+        if (future == loading) {
+            complete(loading, () -> loader.apply(id));
+        }
+        return join(future);
+    }
+
+    /**
+     * Gets several products from the cache, loading all misses with a single loader call
+     *
+     * @param ids the product IDs
+     * @param loader loads the products that are not cached; IDs it returns no product for are not cached
+     * @return the found products by ID
+     */
+    public Map<Long, ProductResponse> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, ProductResponse>> loader) {
+        if (!enabled) {
+            return loader.apply(new HashSet<>(ids));
+        }
+        CompletableFuture<Map<Long, ProductResponse>> loading = new CompletableFuture<>();
+        AtomicReference<Set<Long>> missingIds = new AtomicReference<>();
+        CompletableFuture<Map<Long, ProductResponse>> future = cache.getAll(ids, (missing, executor) -> {
+            missingIds.set(Set.copyOf(missing));
+            return loading;
+        });
+        if (missingIds.get() != null) {
+            complete(loading, () -> loader.apply(missingIds.get()));
+        }
+        return join(future);
+    }
+
+    /**
+     * Removes a product from the cache
+     *
+     * @param id the product ID
+     */
+    public void evict(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Evicts the product affected by a create, update or delete once its transaction has committed,
+     * so the next read loads the committed state
+     *
+     * @param event the published product event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        evict(event.getProductId());
+    }
+
+    /**
+     * Runs a load this thread is responsible for and completes the future the cache handed out for it.
+     * A failed load is rethrown here and also seen by the threads waiting for it; nothing is cached.
+     */
+    private static <T> void complete(CompletableFuture<T> loading, Supplier<T> load) {
+        try {
+            loading.complete(load.get());
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ro.robert.store.management.product.control;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+import ro.robert.store.management.product.entity.event.ProductDeletedEvent;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+import ro.robert.store.management.product.entity.event.ProductsImportedEvent;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process cache of the total number of products. The count is loaded with an exact query on first use,
+ * kept current by committed create and delete events, and fully reloaded after the refresh interval
+ * to correct drift caused by writes from other instances. Only one caller reloads at a time; while a stale
+ * count is being reloaded, other callers get the stale count instead of running the query too.
+ */
+@Slf4j
+@Component
+public class ProductCountCache {
+
+    private final long refreshIntervalNanos;
+    // Sum of every committed adjustment; the count is the loaded base plus the adjustments made since it was read
+    private final AtomicLong adjustments = new AtomicLong();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public ProductCountCache(@Value("${app.product.count-cache.refresh-interval:5m}") Duration refreshInterval) {
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Gets the cached product count, loading it when unknown or stale
+     *
+     * @param exactCounter runs the exact count query
+     * @return the product count
+     */
+    public long get(LongSupplier exactCounter) {
+        Snapshot current = snapshot;
+        if (current != null && !current.isStale(refreshIntervalNanos)) {
+            return current.count(adjustments.get());
+        }
+        if (current != null && !reloadLock.tryLock()) {
+            return current.count(adjustments.get());
+        }
+        if (current == null) {
+            reloadLock.lock();
+        }
+        try {
+            current = snapshot;
+            if (current == null || current.isStale(refreshIntervalNanos)) {
+                // Adjustments committed while the query runs are applied on top of its result
+                long adjustmentsBefore = adjustments.get();
+                long loaded = exactCounter.getAsLong();
+                current = new Snapshot(loaded - adjustmentsBefore, System.nanoTime());
+                snapshot = current;
+                log.debug("Reloaded cached product count: {}", loaded);
+            }
+            return current.count(adjustments.get());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Adjusts the cached count once a product create, import or delete has committed
+     *
+     * @param event the published product event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        if (event instanceof ProductCreatedEvent) {
+            adjustments.addAndGet(1);
+        } else if (event instanceof ProductsImportedEvent imported) {
+            adjustments.addAndGet(imported.getCount());
+        } else if (event instanceof ProductDeletedEvent) {
+            adjustments.addAndGet(-1);
+        }
+    }
+
+    /**
+     * A loaded count, stored relative to the adjustment sum at the time it was read
+     */
+    private record Snapshot(long base, long loadedAtNanos) {
+
+        long count(long adjustments) {
+            return Math.max(0, base + adjustments);
+        }
+
+        boolean isStale(long refreshIntervalNanos) {
+            return System.nanoTime() - loadedAtNanos >= refreshIntervalNanos;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ro.robert.store.management.product.control;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+
+/**
+ * Kafka value deserializer reading product events written by {@link ProductEventBinarySerializer}.
+ */
+public class ProductEventBinaryDeserializer implements Deserializer<ProductEvent> {
+
+    @Override
+    public ProductEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return ProductEventBinaryFormat.decode(data);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new SerializationException("Cannot decode product event from topic " + topic, e);
+        }
+    }
+}
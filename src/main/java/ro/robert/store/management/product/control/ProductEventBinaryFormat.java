@@ -0,0 +1,368 @@
+package ro.robert.store.management.product.control;
+
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+import ro.robert.store.management.product.entity.event.ProductDeletedEvent;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
+import ro.robert.store.management.product.entity.event.ProductsImportedEvent;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary encoding of product events.
+ * <p>
+ * Layout: schema version byte, event type byte, a presence bitmask with one bit per nullable field, then the
+ * present fields in declaration order. Integers are unsigned or zigzag varints, strings are a varint byte length
+ * followed by UTF-8, prices are zigzag varints in minor units (cents), timestamps are zigzag varint epoch seconds
+ * (UTC) plus varint nanoseconds. Updated events store price and quantity changes as numbers instead of strings,
+ * and imported events store the product IDs as deltas. The event type name is implied by the type byte.
+ * <p>
+ * A new layout must get a new schema version; decoding rejects versions it does not know.
+ */
+public final class ProductEventBinaryFormat {
+
+    public static final byte SCHEMA_VERSION = 1;
+
+    private static final byte CREATED = 1;
+    private static final byte UPDATED = 2;
+    private static final byte DELETED = 3;
+    private static final byte IMPORTED = 4;
+
+    // How an updated event stores its old and new values
+    private static final byte VALUE_TEXT = 0;
+    private static final byte VALUE_PRICE = 1;
+    private static final byte VALUE_QUANTITY = 2;
+
+    private static final int PRICE_SCALE = 2;
+
+    private ProductEventBinaryFormat() {
+    }
+
+    /**
+     * Encodes a product event
+     *
+     * @param event the event
+     * @return the encoded event
+     * @throws IllegalArgumentException if the event type is not supported, or a price has more than two decimals
+     */
+    public static byte[] encode(ProductEvent event) {
+        Writer out = new Writer();
+        out.writeByte(SCHEMA_VERSION);
+        if (event instanceof ProductCreatedEvent created) {
+            out.writeByte(CREATED);
+            out.writeByte(mask(created.getProductId(), created.getProductName(), created.getDescription(),
+                    created.getCategory(), created.getPrice(), created.getQuantity(), created.getCreatedAt(),
+                    created.getEventTimestamp()));
+            out.writeIdIfPresent(created.getProductId());
+            out.writeStringIfPresent(created.getProductName());
+            out.writeStringIfPresent(created.getDescription());
+            out.writeStringIfPresent(created.getCategory());
+            if (created.getPrice() != null) {
+                out.writeSigned(toMinorUnits(created.getPrice()));
+            }
+            if (created.getQuantity() != null) {
+                out.writeSigned(created.getQuantity());
+            }
+            out.writeTimestampIfPresent(created.getCreatedAt());
+            out.writeTimestampIfPresent(created.getEventTimestamp());
+        } else if (event instanceof ProductUpdatedEvent updated) {
+            byte valueType = valueType(updated);
+            out.writeByte(UPDATED);
+            out.writeByte(valueType);
+            out.writeByte(mask(updated.getProductId(), updated.getProductName(),
+                    valueType == VALUE_TEXT ? updated.getFieldUpdated() : null,
+                    updated.getOldValue(), updated.getNewValue(), updated.getEventTimestamp()));
+            out.writeIdIfPresent(updated.getProductId());
+            out.writeStringIfPresent(updated.getProductName());
+            if (valueType == VALUE_TEXT) {
+                out.writeStringIfPresent(updated.getFieldUpdated());
+            }
+            out.writeValueIfPresent(valueType, updated.getOldValue());
+            out.writeValueIfPresent(valueType, updated.getNewValue());
+            out.writeTimestampIfPresent(updated.getEventTimestamp());
+        } else if (event instanceof ProductDeletedEvent deleted) {
+            out.writeByte(DELETED);
+            out.writeByte(mask(deleted.getProductId(), deleted.getProductName(), deleted.getEventTimestamp()));
+            out.writeIdIfPresent(deleted.getProductId());
+            out.writeStringIfPresent(deleted.getProductName());
+            out.writeTimestampIfPresent(deleted.getEventTimestamp());
+        } else if (event instanceof ProductsImportedEvent imported) {
+            out.writeByte(IMPORTED);
+            out.writeByte(mask(imported.getProductIds(), imported.getEventTimestamp()));
+            out.writeSigned(imported.getCount());
+            if (imported.getProductIds() != null) {
+                out.writeUnsigned(imported.getProductIds().size());
+                long previous = 0;
+                for (Long id : imported.getProductIds()) {
+                    out.writeSigned(id - previous);
+                    previous = id;
+                }
+            }
+            out.writeTimestampIfPresent(imported.getEventTimestamp());
+        } else {
+            throw new IllegalArgumentException("Unsupported product event type: " + event.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a product event
+     *
+     * @param data the encoded event
+     * @return the event
+     * @throws IllegalArgumentException if the data is truncated or has an unknown schema version or event type
+     */
+    public static ProductEvent decode(byte[] data) {
+        Reader in = new Reader(data);
+        byte version = in.readByte();
+        if (version != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported product event schema version: " + version);
+        }
+        byte type = in.readByte();
+        switch (type) {
+            case CREATED -> {
+                int mask = in.readByte() & 0xFF;
+                ProductCreatedEvent event = new ProductCreatedEvent();
+                event.setProductId(isPresent(mask, 0) ? in.readUnsigned() : null);
+                event.setProductName(isPresent(mask, 1) ? in.readString() : null);
+                event.setDescription(isPresent(mask, 2) ? in.readString() : null);
+                event.setCategory(isPresent(mask, 3) ? in.readString() : null);
+                event.setPrice(isPresent(mask, 4) ? fromMinorUnits(in.readSigned()) : null);
+                event.setQuantity(isPresent(mask, 5) ? Math.toIntExact(in.readSigned()) : null);
+                event.setCreatedAt(isPresent(mask, 6) ? in.readTimestamp() : null);
+                event.setEventTimestamp(isPresent(mask, 7) ? in.readTimestamp() : null);
+                return event;
+            }
+            case UPDATED -> {
+                byte valueType = in.readByte();
+                int mask = in.readByte() & 0xFF;
+                ProductUpdatedEvent event = new ProductUpdatedEvent();
+                event.setProductId(isPresent(mask, 0) ? in.readUnsigned() : null);
+                event.setProductName(isPresent(mask, 1) ? in.readString() : null);
+                event.setFieldUpdated(switch (valueType) {
+                    case VALUE_PRICE -> ProductUpdatedEvent.FIELD_PRICE;
+                    case VALUE_QUANTITY -> ProductUpdatedEvent.FIELD_QUANTITY;
+                    case VALUE_TEXT -> isPresent(mask, 2) ? in.readString() : null;
+                    default -> throw new IllegalArgumentException("Unknown updated value type: " + valueType);
+                });
+                event.setOldValue(isPresent(mask, 3) ? in.readValue(valueType) : null);
+                event.setNewValue(isPresent(mask, 4) ? in.readValue(valueType) : null);
+                event.setEventTimestamp(isPresent(mask, 5) ? in.readTimestamp() : null);
+                return event;
+            }
+            case DELETED -> {
+                int mask = in.readByte() & 0xFF;
+                ProductDeletedEvent event = new ProductDeletedEvent();
+                event.setProductId(isPresent(mask, 0) ? in.readUnsigned() : null);
+                event.setProductName(isPresent(mask, 1) ? in.readString() : null);
+                event.setEventTimestamp(isPresent(mask, 2) ? in.readTimestamp() : null);
+                return event;
+            }
+            case IMPORTED -> {
+                int mask = in.readByte() & 0xFF;
+                ProductsImportedEvent event = new ProductsImportedEvent();
+                event.setCount(Math.toIntExact(in.readSigned()));
+                if (isPresent(mask, 0)) {
+                    int size = Math.toIntExact(in.readUnsigned());
+                    List<Long> productIds = new ArrayList<>(size);
+                    long previous = 0;
+                    for (int i = 0; i < size; i++) {
+                        previous += in.readSigned();
+                        productIds.add(previous);
+                    }
+                    event.setProductIds(productIds);
+                }
+                event.setEventTimestamp(isPresent(mask, 1) ? in.readTimestamp() : null);
+                return event;
+            }
+            default -> throw new IllegalArgumentException("Unknown product event type: " + type);
+        }
+    }
+
+    /**
+     * Price and quantity changes are stored as numbers when both values parse as such, otherwise as text
+     */
+    private static byte valueType(ProductUpdatedEvent event) {
+        try {
+            if (ProductUpdatedEvent.FIELD_PRICE.equals(event.getFieldUpdated())) {
+                toMinorUnitsIfPresent(event.getOldValue());
+                toMinorUnitsIfPresent(event.getNewValue());
+                return VALUE_PRICE;
+            }
+            if (ProductUpdatedEvent.FIELD_QUANTITY.equals(event.getFieldUpdated())) {
+                parseIntIfPresent(event.getOldValue());
+                parseIntIfPresent(event.getNewValue());
+                return VALUE_QUANTITY;
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            return VALUE_TEXT;
+        }
+        return VALUE_TEXT;
+    }
+
+    private static void toMinorUnitsIfPresent(String value) {
+        if (value != null) {
+            toMinorUnits(new BigDecimal(value));
+        }
+    }
+
+    private static void parseIntIfPresent(String value) {
+        if (value != null) {
+            Integer.parseInt(value);
+        }
+    }
+
+    private static long toMinorUnits(BigDecimal price) {
+        return price.movePointRight(PRICE_SCALE).longValueExact();
+    }
+
+    private static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, PRICE_SCALE);
+    }
+
+    private static int mask(Object... fields) {
+        int mask = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    private static boolean isPresent(int mask, int field) {
+        return (mask & (1 << field)) != 0;
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer = new byte[64];
+        private int position;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeUnsigned(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeSigned(long value) {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        void writeIdIfPresent(Long id) {
+            if (id != null) {
+                writeUnsigned(id);
+            }
+        }
+
+        void writeStringIfPresent(String value) {
+            if (value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeUnsigned(bytes.length);
+                ensureCapacity(bytes.length);
+                System.arraycopy(bytes, 0, buffer, position, bytes.length);
+                position += bytes.length;
+            }
+        }
+
+        void writeTimestampIfPresent(LocalDateTime timestamp) {
+            if (timestamp != null) {
+                writeSigned(timestamp.toEpochSecond(ZoneOffset.UTC));
+                writeUnsigned(timestamp.getNano());
+            }
+        }
+
+        void writeValueIfPresent(byte valueType, String value) {
+            if (value == null) {
+                return;
+            }
+            switch (valueType) {
+                case VALUE_PRICE -> writeSigned(toMinorUnits(new BigDecimal(value)));
+                case VALUE_QUANTITY -> writeSigned(Integer.parseInt(value));
+                default -> writeStringIfPresent(value);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        byte readByte() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated product event");
+            }
+            return data[position++];
+        }
+
+        long readUnsigned() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in product event");
+        }
+
+        long readSigned() {
+            long value = readUnsigned();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            int length = Math.toIntExact(readUnsigned());
+            if (length > data.length - position) {
+                throw new IllegalArgumentException("Truncated product event");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        LocalDateTime readTimestamp() {
+            long epochSecond = readSigned();
+            int nanos = Math.toIntExact(readUnsigned());
+            return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+        }
+
+        String readValue(byte valueType) {
+            return switch (valueType) {
+                case VALUE_PRICE -> fromMinorUnits(readSigned()).toPlainString();
+                case VALUE_QUANTITY -> String.valueOf(Math.toIntExact(readSigned()));
+                default -> readString();
+            };
+        }
+    }
+}
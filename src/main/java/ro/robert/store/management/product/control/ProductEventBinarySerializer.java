@@ -0,0 +1,28 @@
+package ro.robert.store.management.product.control;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+
+/**
+ * Kafka value serializer writing product events in the {@link ProductEventBinaryFormat}.
+ * Unlike the JSON serializer it adds no type headers; consumers read the event type from the payload.
+ */
+public class ProductEventBinarySerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (!(data instanceof ProductEvent event)) {
+            throw new SerializationException("Cannot write " + data.getClass().getName() + " to topic " + topic
+                    + " - only product events use the binary format");
+        }
+        try {
+            return ProductEventBinaryFormat.encode(event);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new SerializationException("Cannot encode " + event.getEventType() + " for topic " + topic, e);
+        }
+    }
+}
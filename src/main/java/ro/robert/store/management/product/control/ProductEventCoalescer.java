@@ -0,0 +1,350 @@
+package ro.robert.store.management.product.control;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ro.robert.store.management.exception.entity.ServiceException;
+import ro.robert.store.management.outbox.control.OutboxMessageCoalescer;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Collapses bursts of updates to the same product field into one {@link ProductUpdatedEvent} carrying the
+ * first old value and the last new value. Updates are merged within a window that opens with the first
+ * update of a product field. Create and delete events are never merged: the product's pending updates
+ * are sent before them, so per-product order is kept. In-process listeners still see every event.
+ * <p>
+ * Direct sends hold updates for up to the window before handing them to {@link ProductEventDispatcher}.
+ * The dispatcher is called without the lock held, so a full queue never stalls threads submitting updates.
+ * Outbox relay batches are merged as they are relayed, joining updates whose timestamps fall within the window,
+ * so the outbox keeps every change until it is sent.
+ */
+@Slf4j
+@Component
+public class ProductEventCoalescer implements OutboxMessageCoalescer, SmartLifecycle {
+
+    private final ProductEventDispatcher productEventDispatcher;
+    private final boolean enabled;
+    private final Duration window;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Insertion order is window order, so expired updates are always at the head
+    private final LinkedHashMap<UpdateKey, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+    private final DispatchTurns dispatchTurns = new DispatchTurns();
+    private final Counter coalescedEvents;
+    private volatile boolean running;
+
+    public ProductEventCoalescer(
+            ProductEventDispatcher productEventDispatcher,
+            MeterRegistry meterRegistry,
+            @Value("${app.product.events.coalescing.enabled:false}") boolean enabled,
+            @Value("${app.product.events.coalescing.window:1s}") Duration window) {
+        this.productEventDispatcher = productEventDispatcher;
+        this.enabled = enabled;
+        this.window = window;
+
+        Gauge.builder("product.events.coalescing.pending", this, ProductEventCoalescer::pendingCount)
+                .description("Product updates held back for merging")
+                .register(meterRegistry);
+        this.coalescedEvents = Counter.builder("product.events.coalesced")
+                .description("Product update events merged into an earlier update and not sent on their own")
+                .register(meterRegistry);
+
+        log.info("ProductEventCoalescer initialized - enabled: {}, window: {}", enabled, window);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private int pendingCount() {
+        lock.lock();
+        try {
+            return pendingUpdates.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends a product event directly, merging updates when coalescing is enabled
+     *
+     * @param event the product event
+     * @param reservation queue space reserved for the event; held back updates leave their slot unused
+     */
+    public void submit(ProductEvent event, ProductEventDispatcher.Reservation reservation) {
+        if (!enabled) {
+            reservation.dispatch(ProductEventPublisher.keyOf(event), event);
+            return;
+        }
+        List<ProductUpdatedEvent> flushed;
+        long turn;
+        lock.lock();
+        try {
+            if (event instanceof ProductUpdatedEvent updated && isMergeable(updated)) {
+                UpdateKey key = new UpdateKey(updated.getProductId(), updated.getFieldUpdated());
+                PendingUpdate pending = pendingUpdates.get(key);
+                if (pending != null) {
+                    merge(pending.event(), updated);
+                    coalescedEvents.increment();
+                } else {
+                    pendingUpdates.put(key, new PendingUpdate(copyOf(updated), System.nanoTime() + window.toNanos()));
+                }
+                return;
+            }
+            flushed = event.getProductId() != null
+                    ? removePending(pending -> pending.getKey().productId().equals(event.getProductId()))
+                    : List.of();
+            turn = dispatchTurns.take();
+        } finally {
+            lock.unlock();
+        }
+
+        dispatchTurns.await(turn);
+        try {
+            flushed.forEach(this::send);
+            reservation.dispatch(ProductEventPublisher.keyOf(event), event);
+        } finally {
+            dispatchTurns.done();
+        }
+    }
+
+    /**
+     * Sends the merged updates whose window has closed
+     */
+    @Scheduled(fixedDelayString = "${app.product.events.coalescing.flush-interval:100ms}")
+    public void flushExpired() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<ProductUpdatedEvent> expired = new ArrayList<>();
+        long turn;
+        lock.lock();
+        try {
+            Iterator<PendingUpdate> iterator = pendingUpdates.values().iterator();
+            while (iterator.hasNext()) {
+                PendingUpdate pending = iterator.next();
+                if (pending.deadline() - now > 0) {
+                    break;
+                }
+                iterator.remove();
+                expired.add(pending.event());
+            }
+            if (expired.isEmpty()) {
+                return;
+            }
+            turn = dispatchTurns.take();
+        } finally {
+            lock.unlock();
+        }
+        sendInTurn(turn, expired);
+    }
+
+    @Override
+    public List<Group> coalesce(List<Object> payloads) {
+        if (!enabled) {
+            return OutboxMessageCoalescer.NONE.coalesce(payloads);
+        }
+        List<BatchMessage> messages = new ArrayList<>(payloads.size());
+        Map<UpdateKey, BatchMessage> openUpdates = new HashMap<>();
+        for (int i = 0; i < payloads.size(); i++) {
+            Object payload = payloads.get(i);
+            if (payload instanceof ProductUpdatedEvent updated && isMergeable(updated)) {
+                UpdateKey key = new UpdateKey(updated.getProductId(), updated.getFieldUpdated());
+                BatchMessage open = openUpdates.get(key);
+                if (open != null && withinWindow(open.openedAt, updated.getEventTimestamp())) {
+                    merge((ProductUpdatedEvent) open.payload, updated);
+                    open.members.add(i);
+                    coalescedEvents.increment();
+                    continue;
+                }
+                BatchMessage message = new BatchMessage(copyOf(updated), updated.getEventTimestamp(), i);
+                openUpdates.put(key, message);
+                messages.add(message);
+            } else {
+                if (payload instanceof ProductEvent event && event.getProductId() != null) {
+                    // Later updates must not be merged into messages sent before this event
+                    openUpdates.keySet().removeIf(key -> key.productId().equals(event.getProductId()));
+                }
+                messages.add(new BatchMessage(payload, null, i));
+            }
+        }
+        return messages.stream()
+                .map(message -> new Group(message.payload, List.copyOf(message.members)))
+                .toList();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Sends every pending update before the dispatcher stops
+     */
+    @Override
+    public void stop() {
+        running = false;
+        List<ProductUpdatedEvent> pending;
+        long turn;
+        lock.lock();
+        try {
+            pending = removePending(entry -> true);
+            turn = dispatchTurns.take();
+        } finally {
+            lock.unlock();
+        }
+        sendInTurn(turn, pending);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server and before {@link ProductEventDispatcher}
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 3072;
+    }
+
+    /**
+     * Removes the pending updates matching a filter; called with the lock held
+     */
+    private List<ProductUpdatedEvent> removePending(Predicate<Map.Entry<UpdateKey, PendingUpdate>> filter) {
+        List<ProductUpdatedEvent> removed = new ArrayList<>();
+        Iterator<Map.Entry<UpdateKey, PendingUpdate>> iterator = pendingUpdates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UpdateKey, PendingUpdate> pending = iterator.next();
+            if (filter.test(pending)) {
+                iterator.remove();
+                removed.add(pending.getValue().event());
+            }
+        }
+        return removed;
+    }
+
+    private void sendInTurn(long turn, List<ProductUpdatedEvent> events) {
+        dispatchTurns.await(turn);
+        try {
+            events.forEach(this::send);
+        } finally {
+            dispatchTurns.done();
+        }
+    }
+
+    private void send(ProductUpdatedEvent event) {
+        try {
+            productEventDispatcher.dispatch(ProductEventPublisher.keyOf(event), event);
+        } catch (ServiceException e) {
+            // Counted by the dispatcher in product.events.rejected
+            log.warn("Could not send merged {} update for product ID: {} - {}",
+                    event.getFieldUpdated(), event.getProductId(), e.getMessage());
+        }
+    }
+
+    private boolean withinWindow(LocalDateTime openedAt, LocalDateTime timestamp) {
+        return openedAt == null || timestamp == null || !timestamp.isAfter(openedAt.plus(window));
+    }
+
+    private static boolean isMergeable(ProductUpdatedEvent event) {
+        return event.getProductId() != null && event.getFieldUpdated() != null;
+    }
+
+    /**
+     * Folds a later update into an earlier one: the old value stays, everything else is taken from the later update
+     */
+    private static void merge(ProductUpdatedEvent merged, ProductUpdatedEvent next) {
+        merged.setProductName(next.getProductName());
+        merged.setNewValue(next.getNewValue());
+        merged.setEventTimestamp(Objects.requireNonNullElse(next.getEventTimestamp(), merged.getEventTimestamp()));
+    }
+
+    private static ProductUpdatedEvent copyOf(ProductUpdatedEvent event) {
+        return new ProductUpdatedEvent(event.getEventType(), event.getProductId(), event.getProductName(),
+                event.getFieldUpdated(), event.getOldValue(), event.getNewValue(), event.getEventTimestamp());
+    }
+
+    private record UpdateKey(Long productId, String field) {
+    }
+
+    private record PendingUpdate(ProductUpdatedEvent event, long deadline) {
+    }
+
+    /**
+     * Orders dispatching by the turn taken while the lock was held, so events leave in the order they were
+     * collected without the lock being held while the dispatcher blocks on a full queue
+     */
+    private static final class DispatchTurns {
+
+        // Guarded by the coalescer lock
+        private long nextTurn;
+        // Not a monitor, which would pin the carrier of a waiting virtual thread
+        private final ReentrantLock turnLock = new ReentrantLock();
+        private final Condition turnChanged = turnLock.newCondition();
+        // Guarded by turnLock
+        private long currentTurn;
+
+        private long take() {
+            return nextTurn++;
+        }
+
+        private void await(long turn) {
+            turnLock.lock();
+            try {
+                while (currentTurn != turn) {
+                    // A skipped turn would stall every later dispatch, so interrupts do not end the wait
+                    turnChanged.awaitUninterruptibly();
+                }
+            } finally {
+                turnLock.unlock();
+            }
+        }
+
+        private void done() {
+            turnLock.lock();
+            try {
+                currentTurn++;
+                turnChanged.signalAll();
+            } finally {
+                turnLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A message of a relay batch and the batch positions merged into it
+     */
+    private static final class BatchMessage {
+
+        private final Object payload;
+        private final LocalDateTime openedAt;
+        private final List<Integer> members = new ArrayList<>();
+
+        private BatchMessage(Object payload, LocalDateTime openedAt, int firstMember) {
+            this.payload = payload;
+            this.openedAt = openedAt;
+            this.members.add(firstMember);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package ro.robert.store.management.product.control;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import ro.robert.store.management.exception.entity.ServiceErrorType;
+import ro.robert.store.management.exception.entity.ServiceException;
+import ro.robert.store.management.outbox.control.OutboxMessageSender;
+import ro.robert.store.management.product.entity.ProductEventOverflowPolicy;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends product events to Kafka from a bounded in-memory queue drained by a dedicated sender thread,
+ * so publishing never waits for the broker. Used when events are sent directly instead of through the outbox.
+ * <p>
+ * Queue space can be reserved ahead of dispatching, so events of a transaction claim their space before it
+ * commits and are queued only after it has committed. A full queue is handled by the configured
+ * {@link ProductEventOverflowPolicy}. Queued events are not durable: events still queued when the application
+ * stops after the shutdown timeout are lost.
+ */
+@Slf4j
+@Component
+public class ProductEventDispatcher implements SmartLifecycle {
+
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    private final OutboxMessageSender messageSender;
+    private final Executor callbackExecutor;
+    private final String topic;
+    private final ProductEventOverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+    private final Duration shutdownTimeout;
+    private final int queueCapacity;
+    // One permit per queue slot not yet reserved; taken by reservations, returned when the sender takes an event
+    private final Semaphore freeSlots;
+    private final BlockingQueue<PendingEvent> queue = new LinkedBlockingQueue<>();
+    private final Timer sendLatency;
+    private final Counter sendFailures;
+    private final Counter droppedEvents;
+    private final Counter rejectedEvents;
+    private volatile Thread sender;
+    private volatile boolean running;
+
+    public ProductEventDispatcher(
+            OutboxMessageSender messageSender,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor callbackExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.kafka.topic.product-events:product-events}") String topic,
+            @Value("${app.product.events.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.product.events.overflow-policy:BLOCK}") ProductEventOverflowPolicy overflowPolicy,
+            @Value("${app.product.events.block-timeout:1s}") Duration blockTimeout,
+            @Value("${app.product.events.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.messageSender = messageSender;
+        this.callbackExecutor = callbackExecutor;
+        this.topic = topic;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queueCapacity = queueCapacity;
+        this.freeSlots = new Semaphore(queueCapacity);
+
+        Gauge.builder("product.events.queue.depth", queue, BlockingQueue::size)
+                .description("Product events waiting to be sent")
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("product.events.send.latency")
+                .description("Time from handing a product event to the producer until the broker acknowledged it")
+                .register(meterRegistry);
+        this.sendFailures = Counter.builder("product.events.send.failures")
+                .description("Product events the broker did not acknowledge")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("product.events.dropped")
+                .description("Queued product events discarded to make room (DROP_OLDEST)")
+                .register(meterRegistry);
+        this.rejectedEvents = Counter.builder("product.events.rejected")
+                .description("Product events rejected because the queue was full (BLOCK, FAIL)")
+                .register(meterRegistry);
+
+        log.info("ProductEventDispatcher initialized - queue capacity: {}, overflow policy: {}, block timeout: {}",
+                queueCapacity, overflowPolicy, blockTimeout);
+    }
+
+    /**
+     * Queues a product event for sending
+     *
+     * @param key the message key
+     * @param event the product event
+     * @throws ServiceException if the queue is full and the overflow policy rejects the event
+     */
+    public void dispatch(String key, ProductEvent event) {
+        Reservation reservation = reserve(1);
+        reservation.dispatch(key, event);
+    }
+
+    /**
+     * Reserves queue space for events dispatched later, all or nothing
+     *
+     * @param events the number of events
+     * @return the reservation; its unused space must be given back with {@link Reservation#release()}
+     * @throws ServiceException if the queue cannot make room and the overflow policy rejects the events
+     */
+    public Reservation reserve(int events) {
+        if (events > queueCapacity) {
+            reject(events);
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    if (!freeSlots.tryAcquire(events, blockTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        reject(events);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    reject(events);
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!freeSlots.tryAcquire(events)) {
+                    PendingEvent dropped = queue.poll();
+                    if (dropped == null) {
+                        // The remaining space is reserved by events not queued yet, which cannot be dropped
+                        reject(events);
+                    }
+                    freeSlots.release();
+                    droppedEvents.increment();
+                    log.warn("Event queue full - dropped {} event for product ID: {}",
+                            dropped.event().getEventType(), dropped.event().getProductId());
+                }
+            }
+            case FAIL -> {
+                if (!freeSlots.tryAcquire(events)) {
+                    reject(events);
+                }
+            }
+        }
+        return new Reservation(events);
+    }
+
+    private void reject(int events) {
+        rejectedEvents.increment(events);
+        log.warn("Event queue full - rejected {} product events", events);
+        throw new ServiceException(ServiceErrorType.EVENT_QUEUE_FULL);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        sender = new Thread(this::drain, "product-event-sender");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * Stops the sender thread once the queue is drained or the shutdown timeout has passed
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = sender;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            thread.interrupt();
+            log.warn("ProductEventDispatcher stopped with {} events not sent", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so events published by requests finishing during a graceful shutdown are sent
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<PendingEvent> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH_SIZE - 1);
+                freeSlots.release(batch.size());
+                batch.forEach(this::send);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(PendingEvent pending) {
+        ProductEvent event = pending.event();
+        if (log.isDebugEnabled()) {
+            log.debug("Publishing {} event for product ID: {} to topic: {}",
+                    event.getEventType(), event.getProductId(), topic);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<?> future;
+        try {
+            // May block up to the producer's max.block.ms, e.g. while broker metadata is unavailable
+            future = messageSender.send(topic, pending.key(), event);
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                sendFailures.increment();
+            } else {
+                sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+        // Completion is logged on the application task executor instead of the Kafka producer's I/O thread
+        future.whenCompleteAsync((result, throwable) -> {
+            if (throwable != null) {
+                log.warn("Failed to publish {} event for product ID: {} - Kafka may not be available: {}",
+                        event.getEventType(), event.getProductId(), throwable.getMessage());
+            } else if (log.isDebugEnabled() && result instanceof SendResult<?, ?> sendResult) {
+                log.debug("Successfully published {} event for product ID: {} to partition: {}, offset: {}",
+                        event.getEventType(),
+                        event.getProductId(),
+                        sendResult.getRecordMetadata().partition(),
+                        sendResult.getRecordMetadata().offset());
+            }
+        }, callbackExecutor);
+    }
+
+    private record PendingEvent(String key, ProductEvent event) {
+    }
+
+    /**
+     * Queue space reserved for a number of events. Each dispatched event uses one reserved slot;
+     * events beyond the reservation are dispatched like {@link ProductEventDispatcher#dispatch}.
+     */
+    public final class Reservation {
+
+        private int remaining;
+
+        private Reservation(int slots) {
+            this.remaining = slots;
+        }
+
+        /**
+         * Queues a product event in a reserved slot
+         *
+         * @param key the message key
+         * @param event the product event
+         * @throws ServiceException if no reserved slot is left, the queue is full and the overflow policy rejects the event
+         */
+        public void dispatch(String key, ProductEvent event) {
+            synchronized (this) {
+                if (remaining > 0) {
+                    remaining--;
+                    queue.add(new PendingEvent(key, event));
+                    return;
+                }
+            }
+            ProductEventDispatcher.this.dispatch(key, event);
+        }
+
+        /**
+         * Gives back the reserved slots that were not used
+         */
+        public synchronized void release() {
+            freeSlots.release(remaining);
+            remaining = 0;
+        }
+    }
+}
@@ -2,68 +2,139 @@ package ro.robert.store.management.product.control;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ro.robert.store.management.outbox.control.OutboxWriter;
+import ro.robert.store.management.outbox.entity.OutboxMessage;
 import ro.robert.store.management.product.entity.event.ProductEvent;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
 
 @Slf4j
 @Service
 public class ProductEventPublisher {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ProductEventDispatcher productEventDispatcher;
+    private final ProductEventCoalescer productEventCoalescer;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final OutboxWriter outboxWriter;
     private final boolean kafkaEnabled;
+    private final boolean outboxEnabled;
     private final String productEventsTopic;
 
     public ProductEventPublisher(
             @Value("${app.kafka.enabled:false}") boolean kafkaEnabled,
+            @Value("${app.outbox.enabled:true}") boolean outboxEnabled,
             @Value("${app.kafka.topic.product-events:product-events}") String productEventsTopic,
-            KafkaTemplate<String, Object> kafkaTemplate) {
+            ProductEventDispatcher productEventDispatcher,
+            ProductEventCoalescer productEventCoalescer,
+            ApplicationEventPublisher applicationEventPublisher,
+            OutboxWriter outboxWriter) {
         this.kafkaEnabled = kafkaEnabled;
+        this.outboxEnabled = outboxEnabled;
         this.productEventsTopic = productEventsTopic;
-        this.kafkaTemplate = kafkaTemplate;
+        this.productEventDispatcher = productEventDispatcher;
+        this.productEventCoalescer = productEventCoalescer;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.outboxWriter = outboxWriter;
         
-        log.info("ProductEventPublisher initialized - Kafka enabled: {}", kafkaEnabled);
+        log.info("ProductEventPublisher initialized - Kafka enabled: {}, outbox enabled: {}", kafkaEnabled, outboxEnabled);
     }
 
     /**
-     * Publishes any product event to Kafka if enabled
+     * Publishes any product event to in-process listeners (e.g. caches) and to Kafka if enabled.
+     * With the outbox enabled the event is written to the outbox table in the caller's transaction
+     * and sent by the outbox relay after commit; otherwise it is queued for a direct send by
+     * {@link ProductEventDispatcher} once the caller's transaction has committed. Either way, bursts of updates may be merged by {@link ProductEventCoalescer}.
      * 
      * @param event the product event to publish
      */
     public void publishEvent(ProductEvent event) {
+        applicationEventPublisher.publishEvent(event);
+        
         if (!kafkaEnabled) {
-            log.info("Kafka is disabled - skipping event publishing for {} with product ID: {}", 
+            log.debug("Kafka is disabled - skipping event publishing for {} with product ID: {}", 
                     event.getEventType(), event.getProductId());
             return;
         }
 
-        try {
-            String key = "product-" + event.getProductId(); // Use product ID as message key for partitioning
-            
-            log.info("Publishing {} event for product ID: {} to topic: {}", 
-                    event.getEventType(), event.getProductId(), productEventsTopic);
-            
-            CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(productEventsTopic, key, event);
-            
-            future.whenComplete((result, throwable) -> {
-                if (throwable != null) {
-                    log.warn("Failed to publish {} event for product ID: {} - Kafka may not be available: {}", 
-                            event.getEventType(), event.getProductId(), throwable.getMessage());
+        if (outboxEnabled) {
+            outboxWriter.append(productEventsTopic, keyOf(event), event);
+            if (log.isDebugEnabled()) {
+                log.debug("Stored {} event for product ID: {} in outbox for topic: {}", 
+                        event.getEventType(), event.getProductId(), productEventsTopic);
+            }
+            return;
+        }
+        
+        send(List.of(event));
+    }
+    
+    /**
+     * Publishes several product events like {@link #publishEvent}, writing them to the outbox
+     * with a single batch insert when the outbox is enabled.
+     * 
+     * @param events the product events to publish, in order
+     */
+    public void publishEvents(List<? extends ProductEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        events.forEach(applicationEventPublisher::publishEvent);
+        
+        if (!kafkaEnabled) {
+            log.debug("Kafka is disabled - skipping event publishing for {} events", events.size());
+            return;
+        }
+        
+        if (outboxEnabled) {
+            outboxWriter.appendAll(productEventsTopic, events.stream()
+                    .map(event -> new OutboxMessage(keyOf(event), event))
+                    .toList());
+            log.debug("Stored {} events in outbox for topic: {}", events.size(), productEventsTopic);
+            return;
+        }
+        
+        send(events);
+    }
+    
+    /**
+     * Uses the product ID as message key for partitioning; batch events carry no single product ID
+     */
+    static String keyOf(ProductEvent event) {
+        return event.getProductId() != null ? "product-" + event.getProductId() : "product-batch";
+    }
+    
+    /**
+     * Sends events directly. Queue space is reserved right away, so a full queue still fails the caller's
+     * transaction; the events are queued only once it has committed, so rolled-back changes are never sent.
+     */
+    private void send(List<? extends ProductEvent> events) {
+        ProductEventDispatcher.Reservation reservation = productEventDispatcher.reserve(events.size());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(events, reservation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    submit(events, reservation);
                 } else {
-                    log.info("Successfully published {} event for product ID: {} to partition: {}, offset: {}", 
-                            event.getEventType(),
-                            event.getProductId(), 
-                            result.getRecordMetadata().partition(), 
-                            result.getRecordMetadata().offset());
+                    reservation.release();
+                    log.debug("Transaction rolled back - discarded {} product events", events.size());
                 }
-            });
-            
-        } catch (Exception e) {
-            log.warn("Could not publish {} event for product ID: {} - Kafka may not be available: {}", 
-                    event.getEventType(), event.getProductId(), e.getMessage());
+            }
+        });
+    }
+    
+    private void submit(List<? extends ProductEvent> events, ProductEventDispatcher.Reservation reservation) {
+        try {
+            events.forEach(event -> productEventCoalescer.submit(event, reservation));
+        } finally {
+            reservation.release();
         }
     }
 }
@@ -0,0 +1,75 @@
+package ro.robert.store.management.product.control;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.robert.store.management.product.boundary.ProductRepository;
+import ro.robert.store.management.product.entity.ProductEntity;
+import ro.robert.store.management.product.entity.response.ProductResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole product catalog as NDJSON, one product per line, straight from a database cursor.
+ * Each product is serialized and detached before the next one is read, so memory use does not
+ * depend on the number of products.
+ */
+@Slf4j
+@Service
+public class ProductExportService {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter productWriter;
+    private final ObjectMapper objectMapper;
+
+    public ProductExportService(ProductRepository productRepository, ProductMapper productMapper,
+                                EntityManager entityManager, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        // Flushing per product would push every line through the servlet stream and gzip on its own
+        this.productWriter = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes all products in ID order
+     *
+     * @param out the destination; flushed but not closed
+     * @return the number of products written
+     * @throws IOException if writing fails, e.g. because the client went away
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(out);
+             Stream<ProductEntity> products = productRepository.streamAll()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly instead of separating root values with a space
+            generator.setRootValueSeparator(null);
+            for (ProductEntity entity : (Iterable<ProductEntity>) products::iterator) {
+                productWriter.writeValue(generator, productMapper.toResponse(entity));
+                generator.writeRaw('\n');
+                // Keep the persistence context from growing with the result
+                entityManager.detach(entity);
+                count++;
+            }
+            // Closing the generator flushes its buffer and the stream once, leaving the stream open
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.debug("Exported {} products", count);
+        return count;
+    }
+}
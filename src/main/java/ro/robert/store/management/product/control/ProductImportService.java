@@ -0,0 +1,241 @@
+package ro.robert.store.management.product.control;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.robert.store.management.exception.entity.ServiceErrorType;
+import ro.robert.store.management.product.entity.event.ProductsImportedEvent;
+import ro.robert.store.management.product.entity.request.ProductCreateRequest;
+import ro.robert.store.management.product.entity.response.ProductImportError;
+import ro.robert.store.management.product.entity.response.ProductImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports products from an NDJSON or JSON array body. Rows are parsed and validated one at a time,
+ * and valid rows are inserted in JDBC batches, each in its own transaction, so memory use is bounded
+ * by the batch size rather than the payload size.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product (id, name, description, category, price, quantity, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String NEXT_ID_SQL = "SELECT nextval('product_id_seq')";
+    // Must match the product_id_seq increment and the allocationSize on ProductEntity
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProductEventPublisher productEventPublisher;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ProductImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            Validator validator,
+            ProductEventPublisher productEventPublisher,
+            @Value("${app.product.import.batch-size:500}") int batchSize,
+            @Value("${app.product.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.productEventPublisher = productEventPublisher;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+
+        log.info("ProductImportService initialized - batch size: {}, max reported errors: {}", batchSize, maxReportedErrors);
+    }
+
+    /**
+     * Imports products from a stream of JSON objects, either newline-delimited or wrapped in a JSON array.
+     * Invalid rows are reported and skipped; malformed JSON stops the import after the rows read so far.
+     *
+     * @param body the request body
+     * @return the import outcome with per-row errors
+     * @throws IOException if the body cannot be read
+     */
+    public ProductImportResponse importProducts(InputStream body) throws IOException {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+
+        try (MappingIterator<JsonNode> rows = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            while (rows.hasNextValue()) {
+                JsonNode node = rows.nextValue();
+                long rowNumber = report.nextRow();
+                ProductCreateRequest request = parseRow(rowNumber, node, report);
+                if (request == null) {
+                    continue;
+                }
+                batch.add(new ImportRow(rowNumber, request));
+                if (batch.size() == batchSize) {
+                    insertBatch(batch, report);
+                    batch.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Aborting product import after {} rows - malformed JSON: {}", report.totalRows, e.getOriginalMessage());
+            report.fail(report.nextRow(), "Malformed JSON, import stopped: " + e.getOriginalMessage());
+        }
+
+        insertBatch(batch, report);
+        log.info("Product import finished - rows: {}, imported: {}, failed: {}",
+                report.totalRows, report.importedRows, report.failedRows);
+        return report.toResponse();
+    }
+
+    private ProductCreateRequest parseRow(long rowNumber, JsonNode node, ImportReport report) {
+        ProductCreateRequest request;
+        try {
+            request = objectMapper.treeToValue(node, ProductCreateRequest.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            report.fail(rowNumber, "Invalid product: " + (e instanceof JsonProcessingException jpe ? jpe.getOriginalMessage() : e.getMessage()));
+            return null;
+        }
+        if (request == null) {
+            report.fail(rowNumber, "Invalid product: row is null");
+            return null;
+        }
+
+        Set<ConstraintViolation<ProductCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            report.fail(rowNumber, String.format(ServiceErrorType.VALIDATION_ERROR.getMessageTemplate(), message));
+            return null;
+        }
+        return request;
+    }
+
+    /**
+     * Inserts a batch in one transaction. If the database rejects the batch, its rows are retried
+     * one per transaction so the offending rows can be reported and the rest still imported.
+     */
+    private void insertBatch(List<ImportRow> batch, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionOperations.executeWithoutResult(status -> insertAndPublish(batch));
+            report.imported(batch.size());
+        } catch (DataAccessException e) {
+            log.warn("Batch of {} imported products rejected, retrying row by row: {}", batch.size(), e.getMostSpecificCause().getMessage());
+            for (ImportRow row : batch) {
+                try {
+                    transactionOperations.executeWithoutResult(status -> insertAndPublish(List.of(row)));
+                    report.imported(1);
+                } catch (DataAccessException rowError) {
+                    report.fail(row.number(), ServiceErrorType.DATABASE_CONSTRAINT_VIOLATION.getMessageTemplate());
+                }
+            }
+        }
+    }
+
+    private void insertAndPublish(List<ImportRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> productIds = allocateIds(rows.size());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ProductCreateRequest request = rows.get(i).request();
+                ps.setLong(1, productIds.get(i));
+                ps.setString(2, request.getName());
+                ps.setString(3, request.getDescription());
+                ps.setString(4, request.getCategory());
+                ps.setBigDecimal(5, request.getPrice());
+                ps.setInt(6, request.getQuantity() != null ? request.getQuantity() : 0);
+                ps.setTimestamp(7, now);
+                ps.setTimestamp(8, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        productEventPublisher.publishEvent(
+                new ProductsImportedEvent("ProductsImportedEvent", productIds, productIds.size(), LocalDateTime.now()));
+    }
+
+    /**
+     * Reserves product IDs the same way Hibernate's pooled-lo optimizer does: each sequence value
+     * is the low end of a block of {@link #ID_ALLOCATION_SIZE} IDs owned by the caller
+     */
+    private List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long low = jdbcTemplate.queryForObject(NEXT_ID_SQL, Long.class);
+            for (long id = low; id < low + ID_ALLOCATION_SIZE && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private record ImportRow(long number, ProductCreateRequest request) {
+    }
+
+    private static final class ImportReport {
+
+        private final int maxReportedErrors;
+        private final List<ProductImportError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+
+        private ImportReport(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private long nextRow() {
+            return ++totalRows;
+        }
+
+        private void imported(int rows) {
+            importedRows += rows;
+        }
+
+        private void fail(long row, String message) {
+            failedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportError(row, message));
+            }
+        }
+
+        private ProductImportResponse toResponse() {
+            return new ProductImportResponse(totalRows, importedRows, failedRows, errors, failedRows > errors.size());
+        }
+    }
+}
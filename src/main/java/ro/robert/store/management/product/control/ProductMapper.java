@@ -3,6 +3,7 @@ package ro.robert.store.management.product.control;
 import org.springframework.stereotype.Component;
 
 import ro.robert.store.management.product.entity.ProductEntity;
+import ro.robert.store.management.product.entity.ProductSummary;
 import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
 import ro.robert.store.management.product.entity.event.ProductDeletedEvent;
 import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
@@ -34,6 +35,21 @@ public class ProductMapper {
         response.setQuantity(entity.getQuantity());
         response.setCreatedAt(entity.getCreatedAt());
         response.setUpdatedAt(entity.getUpdatedAt());
+        response.setVersion(entity.getVersion());
+        return response;
+    }
+    
+    public ProductResponse toSummaryResponse(ProductSummary summary) {
+        ProductResponse response = new ProductResponse();
+        response.setId(summary.id());
+        response.setName(summary.name());
+        response.setDescription(summary.description());
+        response.setCategory(summary.category());
+        response.setPrice(summary.price());
+        response.setQuantity(summary.quantity());
+        response.setCreatedAt(summary.createdAt());
+        response.setUpdatedAt(summary.updatedAt());
+        response.setVersion(summary.version());
         return response;
     }
     
@@ -51,9 +67,14 @@ public class ProductMapper {
     }
     
     public ProductUpdatedEvent toUpdatedEvent(ProductEntity entity, String fieldUpdated, String oldValue, String newValue) {
+        return toUpdatedEvent(entity.getId(), entity.getName(), fieldUpdated, oldValue, newValue);
+    }
+    
+    public ProductUpdatedEvent toUpdatedEvent(Long productId, String productName, String fieldUpdated,
+                                              String oldValue, String newValue) {
         ProductUpdatedEvent event = new ProductUpdatedEvent();
-        event.setProductId(entity.getId());
-        event.setProductName(entity.getName());
+        event.setProductId(productId);
+        event.setProductName(productName);
         event.setFieldUpdated(fieldUpdated);
         event.setOldValue(oldValue);
         event.setNewValue(newValue);
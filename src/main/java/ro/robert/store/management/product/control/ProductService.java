@@ -2,23 +2,50 @@ package ro.robert.store.management.product.control;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import ro.robert.store.management.exception.entity.ServiceErrorType;
 import ro.robert.store.management.exception.entity.ServiceException;
 import ro.robert.store.management.product.boundary.ProductRepository;
+import ro.robert.store.management.product.entity.ProductCountMode;
+import ro.robert.store.management.product.entity.ProductCursor;
 import ro.robert.store.management.product.entity.ProductEntity;
+import ro.robert.store.management.product.entity.ProductField;
+import ro.robert.store.management.product.entity.ProductSearchCriteria;
+import ro.robert.store.management.product.entity.ProductSortKey;
+import ro.robert.store.management.product.entity.ProductSummary;
+import ro.robert.store.management.product.entity.ProductTextMatch;
+import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
 import ro.robert.store.management.product.entity.request.ProductCreateRequest;
 import ro.robert.store.management.product.entity.request.ProductUpdateRequest;
+import ro.robert.store.management.product.entity.request.AdjustStockRequest;
 import ro.robert.store.management.product.entity.request.UpdatePriceRequest;
 import ro.robert.store.management.product.entity.request.UpdateStockRequest;
+import ro.robert.store.management.product.entity.response.ProductBatchResponse;
+import ro.robert.store.management.product.entity.response.ProductCursorPagedResponse;
 import ro.robert.store.management.product.entity.response.ProductPagedResponse;
 import ro.robert.store.management.product.entity.response.ProductResponse;
+import ro.robert.store.management.product.entity.response.ProductSuggestion;
+import ro.robert.store.management.product.entity.response.ProductTextSearchHit;
+import ro.robert.store.management.product.entity.response.ProductTextSearchResponse;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -28,15 +55,26 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
     private final ProductEventPublisher productEventPublisher;
+    private final ProductCache productCache;
+    private final ProductCountCache productCountCache;
+    private final ProductAutocompleteIndex productAutocompleteIndex;
+    // Read-write transactions, so cache misses read the primary even when a read replica is configured
+    private final TransactionOperations transactionOperations;
+    
+    @Value("${app.product.batch-get.max-ids:100}")
+    private int maxBatchIds;
+    
+    @Value("${app.product.page.max-size:1000}")
+    private int maxPageSize;
 
     @Transactional
     public ProductResponse createProduct(ProductCreateRequest request) {
-        log.info("Creating new product with name: {}", request.getName());
+        log.debug("Creating new product with name: {}", request.getName());
         
         ProductEntity entity = productMapper.toEntity(request);
         ProductEntity savedEntity = productRepository.save(entity);
         
-        log.info("Successfully created product with ID: {} and name: {}", savedEntity.getId(), savedEntity.getName());
+        log.debug("Successfully created product with ID: {} and name: {}", savedEntity.getId(), savedEntity.getName());
         
         productEventPublisher.publishEvent(productMapper.toCreatedEvent(savedEntity));
         
@@ -45,35 +83,273 @@ public class ProductService {
 
     @Transactional(readOnly = true)
     public ProductPagedResponse getAllProducts(Pageable pageable) {
-        log.info("Retrieving products - Page: {}, Size: {}, Sort: {}", 
-                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return getAllProducts(pageable, ProductCountMode.EXACT);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductPagedResponse getAllProducts(Pageable pageable, ProductCountMode countMode) {
+        return getAllProducts(pageable, countMode, null);
+    }
+
+    /**
+     * Gets a page of products. When only some fields are requested, only their columns are selected
+     * and the other response properties are left null.
+     *
+     * @param fields the fields to load, or null for all fields
+     */
+    @Transactional(readOnly = true)
+    public ProductPagedResponse getAllProducts(Pageable pageable, ProductCountMode countMode, Set<ProductField> fields) {
+        if (fields != null && !fields.containsAll(EnumSet.allOf(ProductField.class))) {
+            return getProductProjections(pageable, countMode, fields);
+        }
+        
+        // Guarded: more than two arguments allocate a varargs array and box the ints even when DEBUG is off
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving products - Page: {}, Size: {}, Sort: {}, Count mode: {}", 
+                    pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), countMode);
+        }
+        
+        if (countMode == ProductCountMode.EXACT) {
+            Page<ProductEntity> entityPage = productRepository.findAll(pageable);
+            
+            if (log.isDebugEnabled()) {
+                log.debug("Retrieved {} products out of {} total products", 
+                        entityPage.getNumberOfElements(), entityPage.getTotalElements());
+            }
+            
+            return toPagedResponse(entityPage, productMapper::toResponse, entityPage.getTotalElements(),
+                    entityPage.getTotalPages(), countMode);
+        }
         
-        Page<ProductEntity> entityPage = productRepository.findAll(pageable);
+        // Slice queries fetch one extra row to compute hasNext instead of running count(*)
+        Slice<ProductEntity> entitySlice = productRepository.findAllBy(pageable);
+        Long totalElements = countProducts(countMode);
         
-        log.info("Retrieved {} products out of {} total products", 
-                entityPage.getNumberOfElements(), entityPage.getTotalElements());
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieved {} products, total: {}", entitySlice.getNumberOfElements(), totalElements);
+        }
         
-        List<ProductResponse> content = entityPage.getContent()
+        return toPagedResponse(entitySlice, productMapper::toResponse, totalElements,
+                totalPages(totalElements, pageable), countMode);
+    }
+    
+    private ProductPagedResponse getProductProjections(Pageable pageable, ProductCountMode countMode,
+                                                       Set<ProductField> fields) {
+        validatePage(pageable.getPageNumber(), pageable.getPageSize());
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving product fields {} - Page: {}, Size: {}, Sort: {}", 
+                    fields, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        }
+        
+        // Fetch one extra row to compute hasNext, like the slice query
+        List<ProductSummary> rows = productRepository.findPage(fields, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        Slice<ProductSummary> slice = new SliceImpl<>(
+                hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+        Long totalElements = countProducts(countMode);
+        
+        return toPagedResponse(slice, productMapper::toSummaryResponse, totalElements,
+                totalPages(totalElements, pageable), countMode);
+    }
+    
+    private Long countProducts(ProductCountMode countMode) {
+        return switch (countMode) {
+            case EXACT -> productRepository.count();
+            case ESTIMATED -> estimateProductCount();
+            case CACHED -> productCountCache.get(productRepository::count);
+            default -> null;
+        };
+    }
+    
+    private static Integer totalPages(Long totalElements, Pageable pageable) {
+        return totalElements != null
+                ? (int) Math.ceil((double) totalElements / pageable.getPageSize())
+                : null;
+    }
+    
+    private <T> ProductPagedResponse toPagedResponse(Slice<T> slice, Function<T, ProductResponse> mapper,
+                                                     Long totalElements, Integer totalPages, ProductCountMode countMode) {
+        List<ProductResponse> content = slice.getContent()
                 .stream()
-                .map(productMapper::toResponse)
+                .map(mapper)
                 .toList();
         
         return new ProductPagedResponse(
                 content,
-                entityPage.getNumber(),
-                entityPage.getSize(),
-                entityPage.getTotalElements(),
-                entityPage.getTotalPages(),
-                entityPage.isFirst(),
-                entityPage.isLast(),
-                entityPage.getNumberOfElements(),
-                entityPage.isEmpty()
+                slice.getNumber(),
+                slice.getSize(),
+                totalElements,
+                totalPages,
+                slice.isFirst(),
+                slice.isLast(),
+                slice.hasNext(),
+                slice.getNumberOfElements(),
+                slice.isEmpty(),
+                countMode
         );
     }
     
+    /**
+     * Gets the row estimate from table statistics, falling back to an exact count
+     * when the table has not been analyzed yet
+     */
+    private long estimateProductCount() {
+        long estimate = productRepository.estimateCount();
+        if (estimate < 0) {
+            log.debug("No statistics available for product table - falling back to exact count");
+            return productRepository.count();
+        }
+        return estimate;
+    }
+    
     @Transactional(readOnly = true)
+    public ProductCursorPagedResponse getProductsAfter(String after, int size, String sortBy, Sort.Direction sortDirection) {
+        validatePageSize(size);
+        
+        // A cursor fixes the sort of the whole traversal, so it takes precedence over the sort parameters
+        ProductCursor cursor = after != null && !after.isEmpty() ? ProductCursor.decode(after) : null;
+        ProductSortKey sortKey = cursor != null ? cursor.sortKey() : ProductSortKey.fromProperty(sortBy);
+        Sort.Direction direction = cursor != null ? cursor.direction() : sortDirection;
+        
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving products after cursor - Size: {}, Sort: {} {}", size, sortKey, direction);
+        }
+        
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<ProductEntity> entities = productRepository.findPageAfter(sortKey, direction, cursor, size + 1);
+        boolean hasNext = entities.size() > size;
+        if (hasNext) {
+            entities = entities.subList(0, size);
+        }
+        
+        List<ProductResponse> content = entities.stream()
+                .map(productMapper::toResponse)
+                .toList();
+        String nextCursor = hasNext
+                ? ProductCursor.after(sortKey, direction, entities.get(entities.size() - 1)).encode()
+                : null;
+        
+        return new ProductCursorPagedResponse(content, size, content.size(), hasNext, nextCursor);
+    }
+    
+    /**
+     * Searches products by category, price range, stock and name prefix with keyset pagination.
+     * The cursor only records the position in the sort order, so clients must repeat the same filters
+     * when passing it back.
+     *
+     * @param criteria the search filters
+     * @param includeDescription whether to load and return product descriptions
+     * @param after the cursor returned by the previous page, or null for the first page
+     * @param size the page size
+     * @param sortBy the sort property, ignored when a cursor is given
+     * @param sortDirection the sort direction, ignored when a cursor is given
+     * @return the page of matching products
+     */
+    @Transactional(readOnly = true)
+    public ProductCursorPagedResponse searchProducts(ProductSearchCriteria criteria, boolean includeDescription,
+                                                     String after, int size, String sortBy, Sort.Direction sortDirection) {
+        validatePageSize(size);
+        if (criteria.minPrice() != null && criteria.maxPrice() != null && criteria.minPrice().compareTo(criteria.maxPrice()) > 0) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR, "Minimum price must not be greater than maximum price");
+        }
+        
+        ProductCursor cursor = after != null && !after.isEmpty() ? ProductCursor.decode(after) : null;
+        ProductSortKey sortKey = cursor != null ? cursor.sortKey() : ProductSortKey.fromProperty(sortBy);
+        Sort.Direction direction = cursor != null ? cursor.direction() : sortDirection;
+        
+        log.debug("Searching products - Criteria: {}, Size: {}", criteria, size);
+        
+        List<ProductSummary> summaries = productRepository.searchPageAfter(
+                criteria, includeDescription, sortKey, direction, cursor, size + 1);
+        boolean hasNext = summaries.size() > size;
+        if (hasNext) {
+            summaries = summaries.subList(0, size);
+        }
+        
+        List<ProductResponse> content = summaries.stream()
+                .map(productMapper::toSummaryResponse)
+                .toList();
+        String nextCursor = hasNext
+                ? ProductCursor.after(sortKey, direction, summaries.get(summaries.size() - 1)).encode()
+                : null;
+        
+        return new ProductCursorPagedResponse(content, size, content.size(), hasNext, nextCursor);
+    }
+    
+    /**
+     * Full-text searches product names, categories and descriptions, most relevant first.
+     * Pages are offset based because relevance scores are not a stable keyset; one extra match is
+     * fetched to tell whether another page exists, so no count query is run.
+     *
+     * @param query the search text, in web search syntax
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the page of matches with their relevance scores
+     */
+    @Transactional(readOnly = true)
+    public ProductTextSearchResponse searchProductsByText(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR, "Search query is required");
+        }
+        validatePage(page, size);
+        
+        if (log.isDebugEnabled()) {
+            log.debug("Searching products by text - Query: {}, Page: {}, Size: {}", query, page, size);
+        }
+        
+        List<ProductTextMatch> matches = productRepository.searchText(query, page * size, size + 1);
+        boolean hasNext = matches.size() > size;
+        if (hasNext) {
+            matches = matches.subList(0, size);
+        }
+        
+        List<ProductTextSearchHit> content = matches.stream()
+                .map(match -> new ProductTextSearchHit(productMapper.toSummaryResponse(match.product()), match.score()))
+                .toList();
+        
+        return new ProductTextSearchResponse(content, page, size, content.size(), hasNext);
+    }
+    
+    /**
+     * Suggests products for the text typed so far. Suggestions come from the in-memory autocomplete index
+     * without opening a transaction; until the index has been built they are read through the name prefix index.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions
+     * @return the suggestions
+     */
+    public List<ProductSuggestion> autocomplete(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR, "Autocomplete query is required");
+        }
+        if (limit < 1) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR, "Limit must be greater than 0");
+        }
+        
+        if (productAutocompleteIndex.isReady()) {
+            return productAutocompleteIndex.suggest(query, limit);
+        }
+        
+        log.debug("Autocomplete index not ready - suggesting products from the database");
+        ProductSearchCriteria criteria = new ProductSearchCriteria(null, null, null, false, query);
+        return productRepository.searchPageAfter(criteria, false, ProductSortKey.NAME, Sort.Direction.ASC, null,
+                        productAutocompleteIndex.cap(limit))
+                .stream()
+                .map(summary -> new ProductSuggestion(summary.id(), summary.name()))
+                .toList();
+    }
+    
+    /**
+     * Gets a product through the product cache. No transaction is opened here, so cache hits
+     * never touch the database. Misses are loaded from the primary: a lagging replica could return
+     * the row as it was before a just-committed update, and it would stay cached for the whole TTL.
+     */
     public ProductResponse getProductById(Long id) {
-        log.info("Retrieving product with ID: {}", id);
+        return productCache.get(id, key -> transactionOperations.execute(status -> loadProduct(key)));
+    }
+    
+    private ProductResponse loadProduct(Long id) {
+        log.debug("Retrieving product with ID: {}", id);
         
         ProductEntity entity = productRepository.findById(id)
                 .orElseThrow(() -> {
@@ -81,26 +357,88 @@ public class ProductService {
                     return new ServiceException(ServiceErrorType.PRODUCT_NOT_FOUND, id);
                 });
         
-        log.info("Successfully retrieved product: {} with ID: {}", entity.getName(), id);
+        log.debug("Successfully retrieved product: {} with ID: {}", entity.getName(), id);
         return productMapper.toResponse(entity);
     }
     
+    /**
+     * Gets several products in one call, in the order of the given IDs. Cached products come from the
+     * product cache and all misses are loaded with a single query. Repeated IDs are returned once, and
+     * IDs without a product are reported as missing instead of failing the call.
+     */
+    public ProductBatchResponse getProductsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR, "At least one product id is required");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > maxBatchIds) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR,
+                    "At most " + maxBatchIds + " product ids can be requested at once");
+        }
+        
+        // Misses are loaded from the primary, like single product reads
+        Map<Long, ProductResponse> found = productCache.getAll(uniqueIds,
+                missingIds -> transactionOperations.execute(status -> loadProducts(missingIds)));
+        List<ProductResponse> content = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            ProductResponse product = found.get(id);
+            if (product != null) {
+                content.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieved {} of {} requested products, missing: {}", content.size(), uniqueIds.size(), missingIds);
+        }
+        return new ProductBatchResponse(content, missingIds);
+    }
+    
+    private Map<Long, ProductResponse> loadProducts(Set<Long> ids) {
+        log.debug("Loading {} products missing from the cache", ids.size());
+        return productRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(ProductEntity::getId, productMapper::toResponse));
+    }
+    
     @Transactional
     public ProductResponse updateProduct(Long id, ProductUpdateRequest request) {
-        log.info("Updating product with ID: {} using request type: {}", id, request.getType());
+        return updateProduct(id, request, null);
+    }
+    
+    /**
+     * Updates a product if it still has the version the client last read
+     *
+     * @param id the product ID
+     * @param request the update request
+     * @param expectedVersions the versions from the client's If-Match header, any of which may match,
+     *                         or null to update unconditionally
+     * @return the updated product, including its new version
+     */
+    @Transactional
+    public ProductResponse updateProduct(Long id, ProductUpdateRequest request, Set<Long> expectedVersions) {
+        log.debug("Updating product with ID: {} using request type: {}", id, request.getType());
+        
+        if (request instanceof AdjustStockRequest adjustRequest) {
+            return adjustStock(id, adjustRequest.getDelta(), expectedVersions);
+        }
         
         ProductEntity entity = productRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Cannot update - Product not found with ID: {}", id);
                     return new ServiceException(ServiceErrorType.PRODUCT_NOT_FOUND, id);
                 });
+        checkVersion(entity, expectedVersions);
         
         String oldValue = getFieldValue(entity, request);
         
         applyUpdate(entity, request);
         
-        ProductEntity savedEntity = productRepository.save(entity);
-        log.info("Successfully updated product: {} with ID: {}", savedEntity.getName(), id);
+        // Flush so a concurrent modification fails here and the response carries the incremented version
+        ProductEntity savedEntity = productRepository.saveAndFlush(entity);
+        log.debug("Successfully updated product: {} with ID: {}", savedEntity.getName(), id);
         
         String newValue = getFieldValue(savedEntity, request);
         String fieldName = getFieldName(request);
@@ -111,22 +449,128 @@ public class ProductService {
         return productMapper.toResponse(savedEntity);
     }
     
+    /**
+     * Adjusts stock with one conditional UPDATE instead of a read-modify-write, so concurrent
+     * adjustments of the same product neither lose updates nor hold the row lock across application code.
+     *
+     * @param id the product ID
+     * @param delta the signed quantity change
+     * @param expectedVersions the versions any of which the product must still have, or null
+     * @return the updated product
+     */
+    private ProductResponse adjustStock(Long id, int delta, Set<Long> expectedVersions) {
+        Long expectedVersion = matchingVersion(id, expectedVersions);
+        ProductEntity savedEntity = productRepository.adjustQuantity(id, delta, expectedVersion)
+                .orElseThrow(() -> {
+                    ProductEntity current = productRepository.findById(id).orElse(null);
+                    if (current == null) {
+                        log.warn("Cannot adjust stock - Product not found with ID: {}", id);
+                        return new ServiceException(ServiceErrorType.PRODUCT_NOT_FOUND, id);
+                    }
+                    if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                        log.warn("Cannot adjust stock - version mismatch for product ID: {}", id);
+                        return new ServiceException(ServiceErrorType.PRODUCT_VERSION_MISMATCH, id);
+                    }
+                    log.warn("Cannot adjust stock by {} - insufficient stock for product ID: {}", delta, id);
+                    return new ServiceException(ServiceErrorType.INSUFFICIENT_STOCK, id);
+                });
+        if (log.isDebugEnabled()) {
+            log.debug("Adjusted stock for product ID: {} by {} to {}", id, delta, savedEntity.getQuantity());
+        }
+        
+        String oldValue = String.valueOf(savedEntity.getQuantity() - delta);
+        productEventPublisher.publishEvent(
+            productMapper.toUpdatedEvent(savedEntity, ProductUpdatedEvent.FIELD_QUANTITY, oldValue, savedEntity.getQuantity().toString())
+        );
+        
+        return productMapper.toResponse(savedEntity);
+    }
+    
     @Transactional
     public void deleteProduct(Long id) {
-        log.info("Deleting product with ID: {}", id);
+        deleteProduct(id, null);
+    }
+    
+    /**
+     * Deletes a product if it still has the version the client last read
+     *
+     * @param id the product ID
+     * @param expectedVersions the versions from the client's If-Match header, any of which may match,
+     *                         or null to delete unconditionally
+     */
+    @Transactional
+    public void deleteProduct(Long id, Set<Long> expectedVersions) {
+        log.debug("Deleting product with ID: {}", id);
         
         ProductEntity entity = productRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Cannot delete - Product not found with ID: {}", id);
                     return new ServiceException(ServiceErrorType.PRODUCT_NOT_FOUND, id);
                 });
+        checkVersion(entity, expectedVersions);
         
         productEventPublisher.publishEvent(
             productMapper.toDeletedEvent(entity)
         );
         
         productRepository.delete(entity);
-        log.info("Successfully deleted product with ID: {}", id);
+        log.debug("Successfully deleted product with ID: {}", id);
+    }
+    
+    /**
+     * Rejects page sizes outside 1 to the configured maximum, which also keeps the extra look-ahead row in range
+     */
+    private void validatePageSize(int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR,
+                    "Page size must be between 1 and " + maxPageSize);
+        }
+    }
+    
+    /**
+     * Rejects offset pages whose first row is beyond the int offsets JPA queries accept
+     */
+    private void validatePage(int page, int size) {
+        validatePageSize(size);
+        if (page < 0 || (long) page * size > Integer.MAX_VALUE) {
+            throw new ServiceException(ServiceErrorType.VALIDATION_ERROR,
+                    "Page must be between 0 and " + Integer.MAX_VALUE / size);
+        }
+    }
+    
+    /**
+     * Rejects a conditional request when the product changed since the client read it.
+     * Changes committed after this check are still caught by the version condition Hibernate adds on flush.
+     */
+    private void checkVersion(ProductEntity entity, Set<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(entity.getVersion())) {
+            log.warn("Version mismatch for product ID: {} - expected one of: {}, current: {}",
+                    entity.getId(), expectedVersions, entity.getVersion());
+            throw new ServiceException(ServiceErrorType.PRODUCT_VERSION_MISMATCH, entity.getId());
+        }
+    }
+    
+    /**
+     * Picks the single version a conditional stock adjustment must match: the only expected version, or the
+     * current version when it is one of several. A change committed after the version is read still fails the
+     * adjustment's version condition.
+     *
+     * @return the version to match, or null to adjust unconditionally
+     */
+    private Long matchingVersion(Long id, Set<Long> expectedVersions) {
+        if (expectedVersions == null) {
+            return null;
+        }
+        if (expectedVersions.size() == 1) {
+            return expectedVersions.iterator().next();
+        }
+        Long currentVersion = productRepository.findVersionById(id)
+                .orElseThrow(() -> new ServiceException(ServiceErrorType.PRODUCT_NOT_FOUND, id));
+        if (!expectedVersions.contains(currentVersion)) {
+            log.warn("Cannot adjust stock - version mismatch for product ID: {}", id);
+            throw new ServiceException(ServiceErrorType.PRODUCT_VERSION_MISMATCH, id);
+        }
+        return currentVersion;
     }
     
     /**
@@ -134,9 +578,9 @@ public class ProductService {
      */
     private String getFieldName(ProductUpdateRequest request) {
         if (request instanceof UpdatePriceRequest) {
-            return "PRICE";
+            return ProductUpdatedEvent.FIELD_PRICE;
         } else if (request instanceof UpdateStockRequest) {
-            return "QUANTITY";
+            return ProductUpdatedEvent.FIELD_QUANTITY;
         }
         return "UNKNOWN";
     }
@@ -161,12 +605,16 @@ public class ProductService {
      */
     private void applyUpdate(ProductEntity entity, ProductUpdateRequest request) {
         if (request instanceof UpdatePriceRequest priceRequest) {
-            log.info("Updating price for product ID: {} from {} to {}", 
-                    entity.getId(), entity.getPrice(), priceRequest.getPrice());
+            if (log.isDebugEnabled()) {
+                log.debug("Updating price for product ID: {} from {} to {}", 
+                        entity.getId(), entity.getPrice(), priceRequest.getPrice());
+            }
             entity.setPrice(priceRequest.getPrice());
         } else if (request instanceof UpdateStockRequest stockRequest) {
-            log.info("Updating stock for product ID: {} from {} to {}", 
-                    entity.getId(), entity.getQuantity(), stockRequest.getQuantity());
+            if (log.isDebugEnabled()) {
+                log.debug("Updating stock for product ID: {} from {} to {}", 
+                        entity.getId(), entity.getQuantity(), stockRequest.getQuantity());
+            }
             entity.setQuantity(stockRequest.getQuantity());
         } else {
             log.error("Unsupported update type: {} for product ID: {}", request.getType(), entity.getId());
@@ -0,0 +1,17 @@
+package ro.robert.store.management.product.entity;
+
+/**
+ * How a batch product update treats items that cannot be applied.
+ */
+public enum ProductBatchUpdateMode {
+    
+    /**
+     * Applies the batch only if every item can be applied; otherwise nothing is changed (default).
+     */
+    ALL_OR_NOTHING,
+    
+    /**
+     * Applies every item that can be applied and reports the others.
+     */
+    BEST_EFFORT
+}
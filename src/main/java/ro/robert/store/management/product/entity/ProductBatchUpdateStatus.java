@@ -0,0 +1,22 @@
+package ro.robert.store.management.product.entity;
+
+/**
+ * Outcome of one item of a batch product update.
+ */
+public enum ProductBatchUpdateStatus {
+    
+    /**
+     * The update was applied.
+     */
+    UPDATED,
+    
+    /**
+     * The update was rejected; the result carries the reason.
+     */
+    FAILED,
+    
+    /**
+     * The update was valid but not applied because another item of an all-or-nothing batch failed.
+     */
+    NOT_APPLIED
+}
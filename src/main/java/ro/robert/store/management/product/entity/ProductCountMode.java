@@ -0,0 +1,27 @@
+package ro.robert.store.management.product.entity;
+
+/**
+ * How the total number of products is obtained for an offset page.
+ */
+public enum ProductCountMode {
+    
+    /**
+     * Runs an exact count query for every page (default).
+     */
+    EXACT,
+    
+    /**
+     * Skips counting; only whether a next page exists is reported.
+     */
+    NONE,
+    
+    /**
+     * Uses the planner's row estimate from PostgreSQL statistics (pg_class.reltuples).
+     */
+    ESTIMATED,
+    
+    /**
+     * Uses an exact count cached in-process and adjusted by product create and delete events.
+     */
+    CACHED
+}
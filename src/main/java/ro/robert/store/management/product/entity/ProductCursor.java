@@ -0,0 +1,74 @@
+package ro.robert.store.management.product.entity;
+
+import org.springframework.data.domain.Sort;
+import ro.robert.store.management.exception.entity.ServiceErrorType;
+import ro.robert.store.management.exception.entity.ServiceException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset (cursor) page: the sort key and direction,
+ * the row's sort key value and its ID as tie-breaker. Clients receive it as an opaque token.
+ */
+public record ProductCursor(ProductSortKey sortKey, Sort.Direction direction, Object lastValue, Long lastId) {
+    
+    private static final String SEPARATOR = "|";
+    
+    /**
+     * Creates the cursor pointing after the given entity.
+     *
+     * @param sortKey the sort key of the page
+     * @param direction the sort direction of the page
+     * @param entity the last entity of the page
+     * @return the cursor
+     */
+    public static ProductCursor after(ProductSortKey sortKey, Sort.Direction direction, ProductEntity entity) {
+        return new ProductCursor(sortKey, direction, sortKey.extract(entity), entity.getId());
+    }
+    
+    /**
+     * Creates the cursor pointing after the given search result.
+     *
+     * @param sortKey the sort key of the page
+     * @param direction the sort direction of the page
+     * @param summary the last search result of the page
+     * @return the cursor
+     */
+    public static ProductCursor after(ProductSortKey sortKey, Sort.Direction direction, ProductSummary summary) {
+        return new ProductCursor(sortKey, direction, sortKey.extract(summary), summary.id());
+    }
+    
+    /**
+     * Encodes this cursor as an opaque URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String value = lastValue instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(lastValue);
+        String raw = sortKey.name() + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the opaque token
+     * @return the cursor
+     * @throws ServiceException if the token is malformed
+     */
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("expected 4 parts but found " + parts.length);
+            }
+            ProductSortKey sortKey = ProductSortKey.valueOf(parts[0]);
+            return new ProductCursor(sortKey, Sort.Direction.valueOf(parts[1]), sortKey.parse(parts[3]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException(ServiceErrorType.INVALID_CURSOR, e, token);
+        }
+    }
+}
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class ProductEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_id_generator")
+    @SequenceGenerator(name = "product_id_generator", sequenceName = "product_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Product name is required")
@@ -46,6 +47,10 @@ public class ProductEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,22 @@
+package ro.robert.store.management.product.entity;
+
+/**
+ * What happens to a product event published while the in-memory send queue is full.
+ */
+public enum ProductEventOverflowPolicy {
+    
+    /**
+     * Waits up to the configured block timeout for space, then rejects the event like {@link #FAIL} (default).
+     */
+    BLOCK,
+    
+    /**
+     * Discards the oldest queued event to make room; the publisher never waits.
+     */
+    DROP_OLDEST,
+    
+    /**
+     * Rejects the event at once, failing the operation that published it.
+     */
+    FAIL
+}
@@ -0,0 +1,75 @@
+package ro.robert.store.management.product.entity;
+
+import ro.robert.store.management.exception.entity.ServiceErrorType;
+import ro.robert.store.management.exception.entity.ServiceException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Product properties a client can select with the fields parameter. Each property name is both
+ * the JSON property of the product response and the entity property it is read from.
+ */
+public enum ProductField {
+    
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    CATEGORY("category"),
+    PRICE("price"),
+    QUANTITY("quantity"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    VERSION("version");
+    
+    private final String property;
+    
+    ProductField(String property) {
+        this.property = property;
+    }
+    
+    /**
+     * Gets the response and entity property name.
+     *
+     * @return the property name
+     */
+    public String getProperty() {
+        return property;
+    }
+    
+    /**
+     * Resolves a field from its property name.
+     *
+     * @param property the property name
+     * @return the matching field
+     * @throws ServiceException if no field has that name
+     */
+    public static ProductField fromProperty(String property) {
+        for (ProductField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new ServiceException(ServiceErrorType.VALIDATION_ERROR, "Unknown product field: " + property);
+    }
+    
+    /**
+     * Parses a comma separated fields parameter. The id is always selected.
+     *
+     * @param fields the requested property names, e.g. "name,price"
+     * @return the selected fields, or null when no fields were given and every field is returned
+     * @throws ServiceException if a name is not a product field
+     */
+    public static Set<ProductField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<ProductField> selected = EnumSet.of(ID);
+        for (String property : fields.split(",")) {
+            if (!property.isBlank()) {
+                selected.add(fromProperty(property.trim()));
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,21 @@
+package ro.robert.store.management.product.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters of a product search. Null (or blank) values do not restrict the result.
+ *
+ * @param category exact category
+ * @param minPrice inclusive lower price bound
+ * @param maxPrice inclusive upper price bound
+ * @param inStock whether only products with a positive quantity are returned
+ * @param namePrefix case-insensitive prefix of the product name
+ */
+public record ProductSearchCriteria(String category, BigDecimal minPrice, BigDecimal maxPrice, boolean inStock,
+                                    String namePrefix) {
+    
+    public ProductSearchCriteria {
+        category = category != null && !category.isBlank() ? category : null;
+        namePrefix = namePrefix != null && !namePrefix.isBlank() ? namePrefix : null;
+    }
+}
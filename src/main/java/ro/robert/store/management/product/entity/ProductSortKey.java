@@ -0,0 +1,88 @@
+package ro.robert.store.management.product.entity;
+
+import ro.robert.store.management.exception.entity.ServiceErrorType;
+import ro.robert.store.management.exception.entity.ServiceException;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * Sort keys supported by keyset (cursor) pagination. Each key is backed by a composite
+ * (key, id) index, so seeking past the last returned row stays an index range scan.
+ */
+public enum ProductSortKey {
+    
+    ID("id", ProductEntity::getId, ProductSummary::id, Long::valueOf),
+    NAME("name", ProductEntity::getName, ProductSummary::name, value -> value),
+    PRICE("price", ProductEntity::getPrice, ProductSummary::price, BigDecimal::new);
+    
+    private final String property;
+    private final Function<ProductEntity, Object> extractor;
+    private final Function<ProductSummary, Object> summaryExtractor;
+    private final Function<String, Object> parser;
+    
+    ProductSortKey(String property, Function<ProductEntity, Object> extractor,
+                   Function<ProductSummary, Object> summaryExtractor, Function<String, Object> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.summaryExtractor = summaryExtractor;
+        this.parser = parser;
+    }
+    
+    /**
+     * Gets the entity property this key sorts on.
+     *
+     * @return the entity property name
+     */
+    public String getProperty() {
+        return property;
+    }
+    
+    /**
+     * Reads this key's value from an entity.
+     *
+     * @param entity the product entity
+     * @return the sort key value
+     */
+    public Object extract(ProductEntity entity) {
+        return extractor.apply(entity);
+    }
+    
+    /**
+     * Reads this key's value from a search projection.
+     *
+     * @param summary the product summary
+     * @return the sort key value
+     */
+    public Object extract(ProductSummary summary) {
+        return summaryExtractor.apply(summary);
+    }
+    
+    /**
+     * Converts an encoded sort key value back to its property type.
+     *
+     * @param value the encoded value
+     * @return the typed value
+     */
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+    
+    /**
+     * Resolves a sort key from an entity property name.
+     *
+     * @param property the property name, or null for the default (id)
+     * @return the matching sort key
+     */
+    public static ProductSortKey fromProperty(String property) {
+        if (property == null || property.isEmpty()) {
+            return ID;
+        }
+        for (ProductSortKey key : values()) {
+            if (key.property.equals(property)) {
+                return key;
+            }
+        }
+        throw new ServiceException(ServiceErrorType.VALIDATION_ERROR, "Unsupported sort field for cursor pagination: " + property);
+    }
+}
@@ -0,0 +1,20 @@
+package ro.robert.store.management.product.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only product projection returned by search queries. The description is only selected when
+ * the client asks for it, so listing queries do not read the TEXT column.
+ */
+public record ProductSummary(Long id, String name, String description, String category, BigDecimal price,
+                             Integer quantity, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+    
+    /**
+     * Creates a summary without description, used by the JPQL constructor expression that skips the column.
+     */
+    public ProductSummary(Long id, String name, String category, BigDecimal price, Integer quantity,
+                          LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, name, null, category, price, quantity, createdAt, updatedAt, version);
+    }
+}
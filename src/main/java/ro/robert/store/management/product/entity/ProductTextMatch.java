@@ -0,0 +1,10 @@
+package ro.robert.store.management.product.entity;
+
+/**
+ * A product matched by full-text search with its relevance score.
+ *
+ * @param product the matched product
+ * @param score the relevance score between 0 and 1, higher is more relevant
+ */
+public record ProductTextMatch(ProductSummary product, double score) {
+}
@@ -11,6 +11,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ProductUpdatedEvent implements ProductEvent {
     
+    public static final String FIELD_PRICE = "PRICE";
+    public static final String FIELD_QUANTITY = "QUANTITY";
+    
     private String eventType = "ProductUpdatedEvent";
     private Long productId;
     private String productName;
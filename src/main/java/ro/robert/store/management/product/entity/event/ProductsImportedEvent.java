@@ -0,0 +1,35 @@
+package ro.robert.store.management.product.entity.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compact event published once per bulk import batch instead of one {@link ProductCreatedEvent} per product.
+ * Consumers needing full product data can fetch the listed products.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductsImportedEvent implements ProductEvent {
+    
+    private String eventType = "ProductsImportedEvent";
+    private List<Long> productIds;
+    private int count;
+    private LocalDateTime eventTimestamp;
+    
+    /**
+     * A batch event does not relate to a single product.
+     *
+     * @return always null
+     */
+    @Override
+    @JsonIgnore
+    public Long getProductId() {
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package ro.robert.store.management.product.entity.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request class for incrementing or decrementing product stock by a relative amount.
+ * Unlike {@link UpdateStockRequest}, concurrent adjustments never overwrite each other.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdjustStockRequest implements ProductUpdateRequest {
+    
+    private String type = "AdjustStockRequest";
+    
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+    
+    @Override
+    public String getType() {
+        return type;
+    }
+}
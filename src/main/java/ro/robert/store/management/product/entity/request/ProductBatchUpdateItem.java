@@ -0,0 +1,21 @@
+package ro.robert.store.management.product.entity.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One update of a batch: a price, stock or stock adjustment request for a product, optionally
+ * conditional on the product version the client last read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchUpdateItem {
+    
+    private Long productId;
+    
+    private Long expectedVersion;
+    
+    private ProductUpdateRequest update;
+}
@@ -0,0 +1,24 @@
+package ro.robert.store.management.product.entity.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.robert.store.management.product.entity.ProductBatchUpdateMode;
+
+import java.util.List;
+
+/**
+ * Request to update several products in one transaction. Items are validated individually,
+ * so one invalid item does not reject the request as a whole.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchUpdateRequest {
+    
+    private ProductBatchUpdateMode mode = ProductBatchUpdateMode.ALL_OR_NOTHING;
+    
+    @NotEmpty(message = "At least one item is required")
+    private List<ProductBatchUpdateItem> items;
+}
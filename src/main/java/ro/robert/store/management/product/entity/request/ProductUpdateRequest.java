@@ -15,7 +15,8 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 )
 @JsonSubTypes({
     @JsonSubTypes.Type(value = UpdatePriceRequest.class, name = "UpdatePriceRequest"),
-    @JsonSubTypes.Type(value = UpdateStockRequest.class, name = "UpdateStockRequest")
+    @JsonSubTypes.Type(value = UpdateStockRequest.class, name = "UpdateStockRequest"),
+    @JsonSubTypes.Type(value = AdjustStockRequest.class, name = "AdjustStockRequest")
 })
 public interface ProductUpdateRequest {
     
@@ -0,0 +1,21 @@
+package ro.robert.store.management.product.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Products looked up by ID in one call, in the order they were requested. IDs without a product
+ * are listed in missingIds instead of failing the whole lookup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+    
+    private List<ProductResponse> content;
+    
+    private List<Long> missingIds;
+}
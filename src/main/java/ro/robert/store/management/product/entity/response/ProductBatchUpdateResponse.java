@@ -0,0 +1,27 @@
+package ro.robert.store.management.product.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.robert.store.management.product.entity.ProductBatchUpdateMode;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch product update, with one result per requested item.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchUpdateResponse {
+    
+    private ProductBatchUpdateMode mode;
+    
+    private int totalItems;
+    
+    private int updatedItems;
+    
+    private int failedItems;
+    
+    private List<ProductBatchUpdateResult> results;
+}
@@ -0,0 +1,29 @@
+package ro.robert.store.management.product.entity.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.robert.store.management.product.entity.ProductBatchUpdateStatus;
+
+/**
+ * Result of one batch update item. Items are numbered from 0 in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductBatchUpdateResult {
+    
+    private int item;
+    
+    private Long productId;
+    
+    private ProductBatchUpdateStatus status;
+    
+    private Long version;
+    
+    private String errorCode;
+    
+    private String message;
+}
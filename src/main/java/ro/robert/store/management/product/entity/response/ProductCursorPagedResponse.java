@@ -0,0 +1,27 @@
+package ro.robert.store.management.product.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset pagination response. Instead of page numbers and totals it carries an opaque cursor
+ * pointing after the last returned product, to be passed back as "after" for the next page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCursorPagedResponse {
+    
+    private List<ProductResponse> content;
+    
+    private int size;
+    
+    private int numberOfElements;
+    
+    private boolean hasNext;
+    
+    private String nextCursor;
+}
@@ -0,0 +1,13 @@
+package ro.robert.store.management.product.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportError {
+    private long row;
+    private String message;
+}
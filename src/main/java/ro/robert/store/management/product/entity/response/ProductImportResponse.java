@@ -0,0 +1,26 @@
+package ro.robert.store.management.product.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import. Errors are reported per row (1-based), up to a configured limit.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+    
+    private long totalRows;
+    
+    private long importedRows;
+    
+    private long failedRows;
+    
+    private List<ProductImportError> errors;
+    
+    private boolean errorsTruncated;
+}
@@ -1,13 +1,17 @@
 package ro.robert.store.management.product.entity.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ro.robert.store.management.product.entity.ProductCountMode;
 
 import java.util.List;
 
 /**
  * Custom pagination response wrapper that contains only relevant pagination fields.
+ * Totals are omitted when the page was requested with {@link ProductCountMode#NONE}
+ * and approximate when requested with {@link ProductCountMode#ESTIMATED}.
  */
 @Data
 @NoArgsConstructor
@@ -20,15 +24,21 @@ public class ProductPagedResponse {
 
     private int size;
 
-    private long totalElements;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
     
-    private int totalPages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
     
     private boolean first;
     
     private boolean last;
     
+    private boolean hasNext;
+    
     private int numberOfElements;
     
     private boolean empty;
+    
+    private ProductCountMode countMode;
 }
@@ -1,12 +1,21 @@
 package ro.robert.store.management.product.entity.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * Product as returned by the API. Serialization goes through the {@value #FIELD_FILTER} filter, so responses
+ * can be limited to the fields a client asked for; without a filter for the request every field is written.
+ */
 @Data
+@JsonFilter(ProductResponse.FIELD_FILTER)
 public class ProductResponse {
+    
+    public static final String FIELD_FILTER = "productFields";
+    
     private Long id;
     private String name;
     private String description;
@@ -15,4 +24,5 @@ public class ProductResponse {
     private Integer quantity;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
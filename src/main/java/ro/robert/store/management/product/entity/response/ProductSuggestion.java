@@ -0,0 +1,18 @@
+package ro.robert.store.management.product.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Autocomplete suggestion: just enough to render the suggestion and fetch the product when it is picked.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestion {
+    
+    private Long id;
+    
+    private String name;
+}
@@ -0,0 +1,18 @@
+package ro.robert.store.management.product.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A full-text search result: the product and its relevance score between 0 and 1.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductTextSearchHit {
+    
+    private ProductResponse product;
+    
+    private double score;
+}
@@ -0,0 +1,27 @@
+package ro.robert.store.management.product.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page of full-text search results ordered by relevance. Like count-free product pages it reports
+ * whether another page exists instead of totals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductTextSearchResponse {
+    
+    private List<ProductTextSearchHit> content;
+    
+    private int page;
+    
+    private int size;
+    
+    private int numberOfElements;
+    
+    private boolean hasNext;
+}
@@ -0,0 +1,46 @@
+package ro.robert.store.management.user.boundary;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import ro.robert.store.management.annotation.TrackExecutionTime;
+import ro.robert.store.management.exception.entity.ServiceErrorResponse;
+import ro.robert.store.management.user.control.AuthService;
+import ro.robert.store.management.user.entity.request.LoginRequest;
+import ro.robert.store.management.user.entity.response.TokenResponse;
+
+@Tag(name = "Authentication", description = "API for obtaining access tokens")
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.security.token.enabled", havingValue = "true", matchIfMissing = true)
+public class AuthController {
+    
+    private final AuthService authService;
+    
+    @Operation(summary = "Log in", description = "Verifies the user's credentials and issues a short-lived signed access token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Token issued successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TokenResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Invalid username or password",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceErrorResponse.class)))
+    })
+    @PostMapping("/login")
+    @TrackExecutionTime("Login")
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+        TokenResponse response = authService.login(loginRequest);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
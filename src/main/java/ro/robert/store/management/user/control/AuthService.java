@@ -0,0 +1,40 @@
+package ro.robert.store.management.user.control;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import ro.robert.store.management.exception.entity.ServiceErrorType;
+import ro.robert.store.management.exception.entity.ServiceException;
+import ro.robert.store.management.user.entity.request.LoginRequest;
+import ro.robert.store.management.user.entity.response.TokenResponse;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthService {
+    
+    private static final String TOKEN_TYPE = "Bearer";
+    
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+
+    public TokenResponse login(LoginRequest request) {
+        log.info("Issuing access token for user: {}", request.getUsername());
+        
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()));
+        } catch (AuthenticationException e) {
+            log.warn("Login failed for user: {} - {}", request.getUsername(), e.getMessage());
+            throw new ServiceException(ServiceErrorType.INVALID_CREDENTIALS, e);
+        }
+        
+        String token = tokenService.issueToken(authentication);
+        return new TokenResponse(token, TOKEN_TYPE, tokenService.getTtl().toSeconds());
+    }
+}
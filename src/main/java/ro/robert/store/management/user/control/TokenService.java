@@ -0,0 +1,157 @@
+package ro.robert.store.management.user.control;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Issues and validates short-lived HMAC-SHA256 signed tokens (compact JWT format).
+ * Tokens carry the username and granted authorities, so a request bearing a valid token
+ * is authenticated without a user lookup or password hash verification.
+ */
+@Slf4j
+@Service
+public class TokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec signingKey;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(
+            @Value("${app.security.token.secret:}") String secret,
+            @Value("${app.security.token.ttl:15m}") Duration ttl,
+            ObjectMapper objectMapper) {
+        this(secret, ttl, objectMapper, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, ObjectMapper objectMapper, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.signingKey = new SecretKeySpec(resolveKey(secret), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Gets the lifetime of issued tokens
+     *
+     * @return the token time to live
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Issues a signed token for an authenticated user
+     *
+     * @param authentication the successful authentication
+     * @return the compact signed token
+     */
+    public String issueToken(Authentication authentication) {
+        long issuedAt = clock.instant().getEpochSecond();
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        TokenClaims claims = new TokenClaims(authentication.getName(), roles, issuedAt, issuedAt + ttl.toSeconds());
+
+        try {
+            String payload = base64Url(objectMapper.writeValueAsBytes(claims));
+            String signingInput = HEADER + "." + payload;
+            return signingInput + "." + base64Url(sign(signingInput));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize token claims", e);
+        }
+    }
+
+    /**
+     * Validates a token's signature and expiry
+     *
+     * @param token the compact signed token
+     * @return the authentication it represents, or null if the token is malformed, forged or expired
+     */
+    public Authentication parseToken(String token) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot < 0 || firstDot == lastDot) {
+            return null;
+        }
+
+        String signingInput = token.substring(0, lastDot);
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(lastDot + 1));
+            if (!HEADER.equals(token.substring(0, firstDot)) || !MessageDigest.isEqual(signature, sign(signingInput))) {
+                log.debug("Rejected token with invalid signature");
+                return null;
+            }
+
+            TokenClaims claims = objectMapper.readValue(
+                    Base64.getUrlDecoder().decode(token.substring(firstDot + 1, lastDot)), TokenClaims.class);
+            if (claims.exp() <= clock.instant().getEpochSecond()) {
+                log.debug("Rejected expired token for user: {}", claims.sub());
+                return null;
+            }
+
+            List<SimpleGrantedAuthority> authorities = claims.roles().stream()
+                    .map(SimpleGrantedAuthority::new)
+                    .toList();
+            return UsernamePasswordAuthenticationToken.authenticated(claims.sub(), null, authorities);
+        } catch (IllegalArgumentException | IOException e) {
+            log.debug("Rejected malformed token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] sign(String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign token with " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    private static byte[] resolveKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("No app.security.token.secret configured - using a random key, issued tokens will not survive a restart");
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < 32) {
+            throw new IllegalStateException("app.security.token.secret must be at least 32 bytes long");
+        }
+        return key;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private record TokenClaims(String sub, List<String> roles, long iat, long exp) {
+    }
+}
@@ -0,0 +1,126 @@
+package ro.robert.store.management.user.control;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Bounded, TTL-evicting cache of successfully verified credentials.
+ * Entries are keyed on the username plus a keyed hash of the presented secret, so a cache hit
+ * proves the same password was already verified by the password encoder, without keeping the
+ * secret itself in memory. The HMAC key is generated per process and never leaves it.
+ */
+@Slf4j
+@Component
+public class UserCredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final Cache<CredentialKey, Authentication> cache;
+    private final SecretKeySpec secretHashKey;
+
+    public UserCredentialCache(
+            @Value("${app.security.credential-cache.enabled:true}") boolean enabled,
+            @Value("${app.security.credential-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.credential-cache.ttl:5m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.secretHashKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "credentials");
+        log.info("UserCredentialCache initialized - enabled: {}, max size: {}, ttl: {}", enabled, maxSize, ttl);
+    }
+
+    /**
+     * Gets a previously verified authentication for the given credentials
+     *
+     * @param username the presented username
+     * @param secret the presented secret
+     * @return the cached authentication, or null if the credentials were not verified recently
+     */
+    public Authentication get(String username, String secret) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(new CredentialKey(username, hashSecret(secret)));
+    }
+
+    /**
+     * Stores an authentication that was just verified against the given credentials
+     *
+     * @param username the presented username
+     * @param secret the presented secret
+     * @param authentication the verified authentication
+     */
+    public void put(String username, String secret, Authentication authentication) {
+        if (!enabled) {
+            return;
+        }
+        cache.put(new CredentialKey(username, hashSecret(secret)), authentication);
+    }
+
+    /**
+     * Removes every cached credential of a user. Must be called whenever the user's roles,
+     * password or enabled flag change, so the next request is verified against the database again.
+     * When called inside a transaction the entries are evicted again after commit, so a concurrent
+     * login cannot re-cache the old state before the change becomes visible.
+     *
+     * @param username the username whose entries are evicted
+     */
+    public void invalidate(String username) {
+        if (!enabled) {
+            return;
+        }
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    private void evict(String username) {
+        cache.asMap().keySet().removeIf(key -> key.username().equals(username));
+        log.debug("Invalidated cached credentials for user: {}", username);
+    }
+
+    private String hashSecret(String secret) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretHashKey);
+            byte[] digest = mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not hash credentials with " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    private record CredentialKey(String username, String secretHash) {
+    }
+}
@@ -26,6 +26,7 @@ public class UserService {
     private final RoleRepository roleRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserCredentialCache credentialCache;
 
     @Transactional
     public UserResponse createUser(UserCreateRequest request) {
@@ -86,6 +87,7 @@ public class UserService {
         
         user.getRoles().add(role);
         UserEntity savedUser = userRepository.save(user);
+        credentialCache.invalidate(savedUser.getUsername());
         
         log.info("Successfully assigned role {} to user {}", 
             request.getRoleName(), savedUser.getUsername());
@@ -0,0 +1,14 @@
+package ro.robert.store.management.user.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponse {
+    private String accessToken;
+    private String tokenType;
+    private long expiresIn;
+}
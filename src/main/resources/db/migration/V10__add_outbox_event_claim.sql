@@ -0,0 +1,5 @@
+-- V10__add_outbox_event_claim.sql
+-- Outbox rows claimed by the relay while it waits for broker acknowledgements, outside any transaction.
+-- A claim expires, so the rows of a relay that stopped mid-batch are relayed again by another instance.
+
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP WITHOUT TIME ZONE;
@@ -0,0 +1,9 @@
+-- V4__add_product_keyset_indexes.sql
+-- Composite (sort key, id) indexes backing keyset pagination on GET /api/products/cursor
+
+-- Seek by name; supersedes product_name_idx, which is a prefix of this index
+CREATE INDEX IF NOT EXISTS product_name_id_idx ON product(name, id);
+DROP INDEX IF EXISTS product_name_idx;
+
+-- Seek by price
+CREATE INDEX IF NOT EXISTS product_price_id_idx ON product(price, id);
@@ -0,0 +1,12 @@
+-- V5__create_outbox_event_table.sql
+-- Transactional outbox: events are written in the same transaction as the change that caused them
+-- and relayed to Kafka in batches by a background relay
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
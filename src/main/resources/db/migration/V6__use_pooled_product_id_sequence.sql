@@ -0,0 +1,6 @@
+-- V6__use_pooled_product_id_sequence.sql
+-- Let Hibernate allocate product IDs in blocks of 50 (pooled-lo optimizer) instead of relying on IDENTITY,
+-- so product inserts no longer need a round trip each and can be sent as JDBC batches.
+-- The increment must match @SequenceGenerator(allocationSize = 50) on ProductEntity.
+
+ALTER SEQUENCE product_id_seq INCREMENT BY 50;
@@ -0,0 +1,4 @@
+-- V7__add_product_version.sql
+-- Version column for optimistic locking; exposed as the product ETag and checked against If-Match
+
+ALTER TABLE product ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
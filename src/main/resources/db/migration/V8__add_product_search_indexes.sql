@@ -0,0 +1,12 @@
+-- V8__add_product_search_indexes.sql
+-- Indexes backing GET /api/products/search. Category equality uses the partial product_category_idx from V1.
+
+-- Case-insensitive name prefix: LOWER(name) LIKE 'abc%' needs text_pattern_ops to be served by a btree
+-- independent of the database collation. The INCLUDE columns let price and stock filters be checked in the index.
+CREATE INDEX IF NOT EXISTS product_lower_name_prefix_idx
+    ON product (LOWER(name) text_pattern_ops) INCLUDE (id, category, price, quantity);
+
+-- Price range sorted by (price, id): same key as product_price_id_idx from V4, which it supersedes,
+-- plus the category and stock columns so non-matching rows are skipped without visiting the table
+CREATE INDEX IF NOT EXISTS product_price_id_covering_idx ON product (price, id) INCLUDE (category, quantity);
+DROP INDEX IF EXISTS product_price_id_idx;
@@ -0,0 +1,13 @@
+-- V9__add_product_search_vector.sql
+-- Full-text search over name, category and description for GET /api/products/search/text
+
+-- Stored generated column, kept current by PostgreSQL on every insert and update. Name matches weigh most,
+-- then category, then description. The text search configuration must match the one used by the queries.
+ALTER TABLE product ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', COALESCE(name, '')), 'A') ||
+        setweight(to_tsvector('english', COALESCE(category, '')), 'B') ||
+        setweight(to_tsvector('english', COALESCE(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS product_search_vector_idx ON product USING GIN (search_vector);
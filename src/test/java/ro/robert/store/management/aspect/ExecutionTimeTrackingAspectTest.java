@@ -0,0 +1,75 @@
+package ro.robert.store.management.aspect;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ro.robert.store.management.annotation.TrackExecutionTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("ExecutionTimeTrackingAspect Tests")
+class ExecutionTimeTrackingAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TrackedOperations operations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TrackedOperations());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ExecutionTimeTrackingAspect(meterRegistry, false, new double[] {0.5, 0.99}));
+        operations = proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Track Execution Time - Should record successful calls per operation")
+    void shouldRecordSuccessfulCallsPerOperation() {
+        // Execute
+        operations.named();
+        operations.named();
+        operations.unnamed();
+
+        // Verify
+        assertThat(timer("Named Operation", "success").count()).isEqualTo(2);
+        assertThat(timer("unnamed", "success").count()).isEqualTo(1);
+        assertThat(timer("Named Operation", "success").takeSnapshot().percentileValues()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Track Execution Time - Should record failed calls separately and rethrow")
+    void shouldRecordFailedCallsSeparately() {
+        // Execute & Verify
+        assertThrows(IllegalStateException.class, () -> operations.failing());
+
+        assertThat(timer("Failing Operation", "error").count()).isEqualTo(1);
+        assertThat(timer("Failing Operation", "success").count()).isZero();
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return meterRegistry.get(ExecutionTimeTrackingAspect.METRIC_NAME)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    static class TrackedOperations {
+
+        @TrackExecutionTime("Named Operation")
+        public void named() {
+        }
+
+        @TrackExecutionTime
+        public void unnamed() {
+        }
+
+        @TrackExecutionTime("Failing Operation")
+        public void failing() {
+            throw new IllegalStateException("failure");
+        }
+    }
+}
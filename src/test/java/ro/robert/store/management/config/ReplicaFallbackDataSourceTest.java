@@ -0,0 +1,86 @@
+package ro.robert.store.management.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaFallbackDataSource Tests")
+class ReplicaFallbackDataSourceTest {
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Test
+    @DisplayName("Get connection - Should use the replica while it is available")
+    void shouldUseReplica() throws Exception {
+        // Define
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        ReplicaFallbackDataSource dataSource = new ReplicaFallbackDataSource(replica, primary, Duration.ofSeconds(30), new SimpleMeterRegistry());
+
+        // Execute & Verify
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        verify(primary, times(0)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Get connection - Should fall back to the primary and skip the replica until the retry interval has passed")
+    void shouldFallBackToPrimary() throws Exception {
+        // Define
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException(
+                "replica - Connection is not available", null, new SQLException("Connection refused", "08001")));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaFallbackDataSource dataSource = new ReplicaFallbackDataSource(replica, primary, Duration.ofMinutes(1), meterRegistry);
+
+        // Execute
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // Verify
+        assertThat(first).isSameAs(primaryConnection);
+        assertThat(second).isSameAs(primaryConnection);
+        verify(replica, times(1)).getConnection();
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Get connection - Should not fall back to the primary when the replica pool is exhausted")
+    void shouldNotFallBackWhenReplicaPoolIsExhausted() throws Exception {
+        // Define
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException(
+                "replica - Connection is not available, request timed out after 2000ms"));
+        ReplicaFallbackDataSource dataSource = new ReplicaFallbackDataSource(replica, primary, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+        // Execute & Verify
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(replica, times(2)).getConnection();
+        verify(primary, never()).getConnection();
+    }
+}
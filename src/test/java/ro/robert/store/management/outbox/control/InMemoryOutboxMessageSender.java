@@ -0,0 +1,37 @@
+package ro.robert.store.management.outbox.control;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory stand-in for the message broker. Records every message it acknowledges
+ * and fails messages whose key was registered with {@link #failKey(String)}.
+ */
+class InMemoryOutboxMessageSender implements OutboxMessageSender {
+
+    private final List<SentMessage> sentMessages = new ArrayList<>();
+    private final Set<String> failingKeys = new HashSet<>();
+
+    @Override
+    public CompletableFuture<?> send(String topic, String key, Object payload) {
+        if (failingKeys.contains(key)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable"));
+        }
+        sentMessages.add(new SentMessage(topic, key, payload));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    void failKey(String key) {
+        failingKeys.add(key);
+    }
+
+    List<SentMessage> getSentMessages() {
+        return sentMessages;
+    }
+
+    record SentMessage(String topic, String key, Object payload) {
+    }
+}
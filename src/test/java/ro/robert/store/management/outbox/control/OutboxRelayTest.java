@@ -0,0 +1,184 @@
+package ro.robert.store.management.outbox.control;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import ro.robert.store.management.outbox.boundary.OutboxEventRepository;
+import ro.robert.store.management.outbox.entity.OutboxEventEntity;
+import ro.robert.store.management.product.entity.event.ProductDeletedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final Duration CLAIM_TIMEOUT = Duration.ofSeconds(3);
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private InMemoryOutboxMessageSender messageSender;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        messageSender = new InMemoryOutboxMessageSender();
+        outboxRelay = new OutboxRelay(outboxEventRepository, messageSender, OutboxMessageCoalescer.NONE, objectMapper,
+                TransactionOperations.withoutTransaction(), BATCH_SIZE, Duration.ofSeconds(1), CLAIM_TIMEOUT);
+        when(outboxEventRepository.tryRelayLock(OutboxRelay.RELAY_LOCK_KEY)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Relay - Should send the batch in order and delete acknowledged messages")
+    void shouldSendBatchInOrderAndDeleteAcknowledgedMessages() throws Exception {
+        // Define
+        when(outboxEventRepository.findNextBatch(BATCH_SIZE))
+                .thenReturn(List.of(outboxEvent(1L, "product-1"), outboxEvent(2L, "product-2")));
+
+        // Execute
+        int relayed = outboxRelay.relayBatch();
+
+        // Verify
+        assertThat(relayed).isEqualTo(2);
+        assertThat(messageSender.getSentMessages())
+                .extracting(InMemoryOutboxMessageSender.SentMessage::key)
+                .containsExactly("product-1", "product-2");
+        assertThat(messageSender.getSentMessages().get(0).payload()).isInstanceOf(ProductDeletedEvent.class);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Relay - Should keep the failed message and every later message for retry")
+    void shouldKeepFailedMessageAndLaterMessagesForRetry() throws Exception {
+        // Define
+        messageSender.failKey("product-2");
+        when(outboxEventRepository.findNextBatch(BATCH_SIZE)).thenReturn(List.of(
+                outboxEvent(1L, "product-1"), outboxEvent(2L, "product-2"), outboxEvent(3L, "product-3")));
+
+        // Execute
+        int relayed = outboxRelay.relayBatch();
+
+        // Verify
+        assertThat(relayed).isEqualTo(1);
+        verify(outboxEventRepository).claim(List.of(1L, 2L, 3L), CLAIM_TIMEOUT.toMillis());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxEventRepository).releaseClaims(List.of(2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Relay - Should wait for broker acknowledgements outside the claiming and deleting transactions")
+    void shouldSendOutsideTransactions() throws Exception {
+        // Define
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        List<Boolean> sentInTransaction = new ArrayList<>();
+        TransactionOperations transactions = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                inTransaction.set(true);
+                try {
+                    return action.doInTransaction(null);
+                } finally {
+                    inTransaction.set(false);
+                }
+            }
+        };
+        OutboxMessageSender sender = (topic, key, payload) -> {
+            sentInTransaction.add(inTransaction.get());
+            return CompletableFuture.completedFuture(null);
+        };
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, sender, OutboxMessageCoalescer.NONE, objectMapper,
+                transactions, BATCH_SIZE, Duration.ofSeconds(1), CLAIM_TIMEOUT);
+        when(outboxEventRepository.findNextBatch(BATCH_SIZE)).thenReturn(List.of(outboxEvent(1L, "product-1")));
+
+        // Execute
+        int relayed = relay.relayBatch();
+
+        // Verify
+        assertThat(relayed).isEqualTo(1);
+        assertThat(sentInTransaction).containsExactly(false);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Relay - Should not claim a batch while another instance holds an unexpired claim")
+    void shouldNotRelayAlongsideAnotherInstance() {
+        // Define
+        when(outboxEventRepository.hasActiveClaim()).thenReturn(true);
+
+        // Execute
+        int relayed = outboxRelay.relayBatch();
+
+        // Verify
+        assertThat(relayed).isZero();
+        assertThat(messageSender.getSentMessages()).isEmpty();
+        verify(outboxEventRepository, never()).findNextBatch(anyInt());
+    }
+
+    @Test
+    @DisplayName("Relay - Should drop a message whose payload cannot be read")
+    void shouldDropUnreadableMessage() throws Exception {
+        // Define
+        OutboxEventEntity unreadable = outboxEvent(1L, "product-1");
+        unreadable.setPayloadType("com.example.UnknownEvent");
+        when(outboxEventRepository.findNextBatch(BATCH_SIZE)).thenReturn(List.of(unreadable, outboxEvent(2L, "product-2")));
+
+        // Execute
+        int relayed = outboxRelay.relayBatch();
+
+        // Verify
+        assertThat(relayed).isEqualTo(2);
+        assertThat(messageSender.getSentMessages()).hasSize(1);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Relay pending - Should keep draining while batches come back full")
+    void shouldKeepDrainingWhileBatchesComeBackFull() throws Exception {
+        // Define
+        when(outboxEventRepository.findNextBatch(BATCH_SIZE))
+                .thenReturn(List.of(outboxEvent(1L, "product-1"), outboxEvent(2L, "product-2"), outboxEvent(3L, "product-3")))
+                .thenReturn(List.of(outboxEvent(4L, "product-4")));
+
+        // Execute
+        outboxRelay.relayPending();
+
+        // Verify
+        assertThat(messageSender.getSentMessages()).hasSize(4);
+        verify(outboxEventRepository, times(2)).findNextBatch(BATCH_SIZE);
+    }
+
+    private OutboxEventEntity outboxEvent(Long id, String key) throws Exception {
+        ProductDeletedEvent event = new ProductDeletedEvent();
+        event.setProductId(id);
+        event.setProductName("Test Product");
+        event.setEventTimestamp(LocalDateTime.now());
+
+        OutboxEventEntity entity = new OutboxEventEntity();
+        entity.setId(id);
+        entity.setTopic("product-events");
+        entity.setMessageKey(key);
+        entity.setPayloadType(ProductDeletedEvent.class.getName());
+        entity.setPayload(objectMapper.writeValueAsString(event));
+        return entity;
+    }
+}
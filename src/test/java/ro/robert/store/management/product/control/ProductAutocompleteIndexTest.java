@@ -0,0 +1,140 @@
+package ro.robert.store.management.product.control;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+import ro.robert.store.management.product.entity.event.ProductDeletedEvent;
+import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
+import ro.robert.store.management.product.entity.response.ProductSuggestion;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductAutocompleteIndex Tests")
+class ProductAutocompleteIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductAutocompleteIndex(jdbcTemplate, true, 100, 5);
+        // The mocked database is empty, so the index starts empty and is filled from events
+        index.build();
+    }
+
+    @Test
+    @DisplayName("Suggest - Should match every query word as a prefix, ignoring case and accents")
+    void shouldMatchEveryQueryWordAsPrefix() {
+        // Define
+        created(1L, "Wireless Keyboard");
+        created(2L, "Keyboard cover");
+        created(3L, "Wireless mouse");
+        created(4L, "Café Keyboard");
+        index.applyPendingChanges();
+
+        // Execute & Verify
+        assertThat(index.suggest("key", 10)).extracting(ProductSuggestion::getId).containsExactly(1L, 2L, 4L);
+        assertThat(index.suggest("WIREL keyb", 10)).extracting(ProductSuggestion::getName).containsExactly("Wireless Keyboard");
+        assertThat(index.suggest("cafe", 10)).extracting(ProductSuggestion::getId).containsExactly(4L);
+        assertThat(index.suggest("key", 2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Suggest - Should reflect renamed and deleted products after pending changes are applied")
+    void shouldReflectRenamedAndDeletedProducts() {
+        // Define
+        created(1L, "Wireless Keyboard");
+        created(2L, "Wireless mouse");
+        index.applyPendingChanges();
+
+        // Execute
+        index.onProductEvent(new ProductUpdatedEvent("ProductUpdatedEvent", 1L, "Bluetooth Keyboard", "NAME",
+                "Wireless Keyboard", "Bluetooth Keyboard", LocalDateTime.now()));
+        index.onProductEvent(new ProductDeletedEvent("ProductDeletedEvent", 2L, "Wireless mouse", LocalDateTime.now()));
+        assertThat(index.suggest("wireless", 10)).hasSize(2);
+        index.applyPendingChanges();
+
+        // Verify
+        assertThat(index.suggest("wireless", 10)).isEmpty();
+        assertThat(index.suggest("blue", 10)).extracting(ProductSuggestion::getName).containsExactly("Bluetooth Keyboard");
+        assertThat(index.suggest("keyboard", 10)).extracting(ProductSuggestion::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Suggest - Should keep the original name when a product is renamed and renamed back before a merge")
+    void shouldKeepNameRestoredBeforeMerge() {
+        // Define
+        created(1L, "Wireless Keyboard");
+        index.applyPendingChanges();
+
+        // Execute
+        renamed(1L, "Wireless Keyboard", "Bluetooth Keyboard");
+        renamed(1L, "Bluetooth Keyboard", "Wireless Keyboard");
+        index.applyPendingChanges();
+
+        // Verify
+        assertThat(index.suggest("wireless", 10)).extracting(ProductSuggestion::getId).containsExactly(1L);
+        assertThat(index.suggest("blue", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Build - Should retry a failed build on the next scheduled run without queueing changes meanwhile")
+    void shouldRetryFailedBuild() {
+        // Define
+        ProductAutocompleteIndex failing = new ProductAutocompleteIndex(jdbcTemplate, true, 100, 5);
+        doThrow(new QueryTimeoutException("database unavailable")).doAnswer(invocation -> {
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getLong(1)).thenReturn(1L);
+            when(resultSet.getString(2)).thenReturn("Wireless Keyboard");
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        failing.build();
+        ProductCreatedEvent event = new ProductCreatedEvent();
+        event.setProductId(1L);
+        event.setProductName("Wireless Keyboard");
+        failing.onProductEvent(event);
+
+        // Execute
+        failing.applyPendingChanges();
+        failing.applyPendingChanges();
+
+        // Verify
+        assertThat(failing.isReady()).isTrue();
+        assertThat(failing.suggest("wireless", 10)).extracting(ProductSuggestion::getId).containsExactly(1L);
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    private void renamed(Long id, String oldName, String newName) {
+        index.onProductEvent(new ProductUpdatedEvent("ProductUpdatedEvent", id, newName, "NAME",
+                oldName, newName, LocalDateTime.now()));
+    }
+
+    private void created(Long id, String name) {
+        ProductCreatedEvent event = new ProductCreatedEvent();
+        event.setProductId(id);
+        event.setProductName(name);
+        index.onProductEvent(event);
+    }
+}
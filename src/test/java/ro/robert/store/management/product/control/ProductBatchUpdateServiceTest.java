@@ -0,0 +1,134 @@
+package ro.robert.store.management.product.control;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import ro.robert.store.management.product.entity.ProductBatchUpdateMode;
+import ro.robert.store.management.product.entity.ProductBatchUpdateStatus;
+import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
+import ro.robert.store.management.product.entity.request.AdjustStockRequest;
+import ro.robert.store.management.product.entity.request.ProductBatchUpdateItem;
+import ro.robert.store.management.product.entity.request.ProductBatchUpdateRequest;
+import ro.robert.store.management.product.entity.request.UpdatePriceRequest;
+import ro.robert.store.management.product.entity.response.ProductBatchUpdateResponse;
+import ro.robert.store.management.product.entity.response.ProductBatchUpdateResult;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductBatchUpdateService Tests")
+class ProductBatchUpdateServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    private ValidatorFactory validatorFactory;
+    private ProductBatchUpdateService productBatchUpdateService;
+
+    private final List<ProductBatchUpdateItem> items = List.of(
+            new ProductBatchUpdateItem(1L, null, new UpdatePriceRequest("UpdatePriceRequest", new BigDecimal("19.99"))),
+            new ProductBatchUpdateItem(2L, null, new AdjustStockRequest("AdjustStockRequest", -10)));
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        productBatchUpdateService = new ProductBatchUpdateService(jdbcTemplate, validatorFactory.getValidator(),
+                productEventPublisher, new ProductMapper(), 10);
+
+        // Products 1 and 2 exist, both with a quantity of 5
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(1L, 2L);
+        when(resultSet.getString("name")).thenReturn("Laptop", "Mouse");
+        when(resultSet.getBigDecimal("price")).thenReturn(new BigDecimal("9.99"), new BigDecimal("4.99"));
+        when(resultSet.getInt("quantity")).thenReturn(5, 5);
+        when(resultSet.getLong("version")).thenReturn(3L, 0L);
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> rowMapper = invocation.getArgument(2);
+                    return List.of(rowMapper.mapRow(resultSet, 0), rowMapper.mapRow(resultSet, 1));
+                });
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> new int[] {1});
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Update Products - Should apply valid items and report failed ones in best-effort mode")
+    @SuppressWarnings("unchecked")
+    void shouldApplyValidItemsAndReportFailedOnesInBestEffortMode() {
+        // Execute
+        ProductBatchUpdateResponse response = productBatchUpdateService.updateProducts(
+                new ProductBatchUpdateRequest(ProductBatchUpdateMode.BEST_EFFORT, items));
+
+        // Verify
+        assertThat(response.getUpdatedItems()).isEqualTo(1);
+        assertThat(response.getFailedItems()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(ProductBatchUpdateResult::getStatus)
+                .containsExactly(ProductBatchUpdateStatus.UPDATED, ProductBatchUpdateStatus.FAILED);
+        assertThat(response.getResults().get(0).getVersion()).isEqualTo(4L);
+        assertThat(response.getResults().get(1).getErrorCode()).isEqualTo("INSUFFICIENT_STOCK");
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((BatchPreparedStatementSetter setter) -> setter.getBatchSize() == 1));
+        verify(productEventPublisher).publishEvents(argThat((List<ProductUpdatedEvent> events) ->
+                events.size() == 1 && "9.99".equals(events.get(0).getOldValue()) && "19.99".equals(events.get(0).getNewValue())));
+    }
+
+    @Test
+    @DisplayName("Update Products - Should write nothing when an item fails in all-or-nothing mode")
+    void shouldWriteNothingWhenAnItemFailsInAllOrNothingMode() {
+        // Execute
+        ProductBatchUpdateResponse response = productBatchUpdateService.updateProducts(
+                new ProductBatchUpdateRequest(ProductBatchUpdateMode.ALL_OR_NOTHING, items));
+
+        // Verify
+        assertThat(response.getUpdatedItems()).isZero();
+        assertThat(response.getResults()).extracting(ProductBatchUpdateResult::getStatus)
+                .containsExactly(ProductBatchUpdateStatus.NOT_APPLIED, ProductBatchUpdateStatus.FAILED);
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        verifyNoInteractions(productEventPublisher);
+    }
+
+    @Test
+    @DisplayName("Update Products - Should report a stock adjustment that overflows the quantity as a failed item")
+    void shouldReportOverflowingStockAdjustmentAsFailedItem() {
+        // Define
+        List<ProductBatchUpdateItem> overflowingItems = List.of(
+                new ProductBatchUpdateItem(1L, null, new AdjustStockRequest("AdjustStockRequest", Integer.MAX_VALUE)));
+
+        // Execute
+        ProductBatchUpdateResponse response = productBatchUpdateService.updateProducts(
+                new ProductBatchUpdateRequest(ProductBatchUpdateMode.BEST_EFFORT, overflowingItems));
+
+        // Verify
+        assertThat(response.getResults()).extracting(ProductBatchUpdateResult::getStatus)
+                .containsExactly(ProductBatchUpdateStatus.FAILED);
+        assertThat(response.getResults().get(0).getErrorCode()).isEqualTo("VALIDATION_ERROR");
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+}
@@ -0,0 +1,78 @@
+package ro.robert.store.management.product.control;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.robert.store.management.exception.entity.ServiceErrorType;
+import ro.robert.store.management.exception.entity.ServiceException;
+import ro.robert.store.management.product.entity.response.ProductResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ProductCache Tests")
+class ProductCacheTest {
+
+    private ProductCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        productCache = new ProductCache(true, 100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Get - Should load a product once and rethrow load failures without caching them")
+    void shouldLoadOnceAndNotCacheFailures() {
+        // Define
+        AtomicInteger loads = new AtomicInteger();
+
+        // Execute
+        productCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return response(id);
+        });
+        ProductResponse cached = productCache.get(1L, id -> {
+            throw new IllegalStateException("Should not load a cached product");
+        });
+
+        // Verify
+        assertThat(cached.getId()).isEqualTo(1L);
+        assertThat(loads).hasValue(1);
+        assertThatThrownBy(() -> productCache.get(2L, id -> {
+            throw new ServiceException(ServiceErrorType.PRODUCT_NOT_FOUND, id);
+        })).isInstanceOf(ServiceException.class);
+        assertThat(productCache.get(2L, this::response).getId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Get all - Should load only the misses and not cache IDs the loader did not find")
+    void shouldLoadOnlyMisses() {
+        // Define
+        productCache.get(1L, this::response);
+
+        // Execute
+        Map<Long, ProductResponse> found = productCache.getAll(List.of(1L, 2L, 3L), missing -> {
+            assertThat(missing).containsExactlyInAnyOrder(2L, 3L);
+            return Map.of(2L, response(2L));
+        });
+
+        // Verify
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        Map<Long, ProductResponse> reloaded = productCache.getAll(List.of(2L, 3L), missing ->
+                missing.stream().collect(Collectors.toMap(id -> id, this::response)));
+        assertThat(reloaded).containsOnlyKeys(2L, 3L);
+    }
+
+    private ProductResponse response(Long id) {
+        ProductResponse response = new ProductResponse();
+        response.setId(id);
+        return response;
+    }
+}
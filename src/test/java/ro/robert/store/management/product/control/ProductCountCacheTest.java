@@ -0,0 +1,75 @@
+package ro.robert.store.management.product.control;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+import ro.robert.store.management.product.entity.event.ProductDeletedEvent;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProductCountCache Tests")
+class ProductCountCacheTest {
+
+    @Test
+    @DisplayName("Get - Should keep adjustments committed while the count is reloading")
+    void shouldApplyAdjustmentsMadeDuringReload() {
+        // Define
+        ProductCountCache cache = new ProductCountCache(Duration.ofMinutes(5));
+
+        // Execute
+        long loaded = cache.get(() -> {
+            cache.onProductEvent(new ProductCreatedEvent());
+            cache.onProductEvent(new ProductCreatedEvent());
+            return 10;
+        });
+        cache.onProductEvent(new ProductDeletedEvent());
+
+        // Verify
+        assertThat(loaded).isEqualTo(12);
+        assertThat(cache.get(() -> 0)).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("Get - Should run one count query for concurrent callers of a stale count")
+    void shouldReloadStaleCountOnce() throws Exception {
+        // Define
+        ProductCountCache cache = new ProductCountCache(Duration.ZERO);
+        cache.get(() -> 5);
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+
+        // Execute
+        CompletableFuture<Long> reloading = CompletableFuture.supplyAsync(() -> cache.get(() -> {
+            queries.incrementAndGet();
+            queryStarted.countDown();
+            await(releaseQuery);
+            return 7;
+        }));
+        assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        long stale = cache.get(() -> {
+            queries.incrementAndGet();
+            return 7;
+        });
+        releaseQuery.countDown();
+
+        // Verify
+        assertThat(stale).isEqualTo(5);
+        assertThat(reloading.get(5, TimeUnit.SECONDS)).isEqualTo(7);
+        assertThat(queries).hasValue(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ro.robert.store.management.product.control;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+import ro.robert.store.management.product.entity.event.ProductDeletedEvent;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
+import ro.robert.store.management.product.entity.event.ProductsImportedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ProductEventBinaryFormat Tests")
+class ProductEventBinaryFormatTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 5, 17, 10, 30, 15, 123_456_000);
+
+    private final ProductEventBinarySerializer serializer = new ProductEventBinarySerializer();
+    private final ProductEventBinaryDeserializer deserializer = new ProductEventBinaryDeserializer();
+
+    @Test
+    @DisplayName("Round trip - Should decode every product event type to an equal event")
+    void shouldRoundTripEveryEventType() {
+        // Define
+        List<ProductEvent> events = List.of(
+                new ProductCreatedEvent("ProductCreatedEvent", 42L, "Café Keyboard", null, "Electronics",
+                        new BigDecimal("49.99"), 120, TIMESTAMP, TIMESTAMP),
+                new ProductUpdatedEvent("ProductUpdatedEvent", 42L, "Café Keyboard", "PRICE", "49.99", "39.50", TIMESTAMP),
+                new ProductUpdatedEvent("ProductUpdatedEvent", 42L, "Café Keyboard", "QUANTITY", "120", "0", TIMESTAMP),
+                new ProductUpdatedEvent("ProductUpdatedEvent", 42L, "Café Keyboard", "NAME", "Keyboard", "Café Keyboard", TIMESTAMP),
+                new ProductDeletedEvent("ProductDeletedEvent", 42L, "Café Keyboard", TIMESTAMP),
+                new ProductsImportedEvent("ProductsImportedEvent", List.of(1001L, 1002L, 1003L, 950L), 4, TIMESTAMP));
+
+        for (ProductEvent event : events) {
+            // Execute
+            byte[] data = serializer.serialize("product-events", event);
+            ProductEvent decoded = deserializer.deserialize("product-events", data);
+
+            // Verify
+            assertThat(data[0]).isEqualTo(ProductEventBinaryFormat.SCHEMA_VERSION);
+            assertThat(decoded).isEqualTo(event);
+        }
+    }
+
+    @Test
+    @DisplayName("Serialize - Should encode events in under half the bytes of the JSON payload")
+    void shouldEncodeSmallerThanJson() {
+        // Define
+        List<ProductEvent> events = List.of(
+                new ProductCreatedEvent("ProductCreatedEvent", 1_234_567L, "Wireless Keyboard",
+                        "Compact wireless keyboard with backlight", "Electronics", new BigDecimal("49.99"), 120, TIMESTAMP, TIMESTAMP),
+                new ProductUpdatedEvent("ProductUpdatedEvent", 1_234_567L, "Wireless Keyboard", "PRICE", "49.99", "44.99", TIMESTAMP));
+
+        try (JsonSerializer<Object> jsonSerializer = new JsonSerializer<>()) {
+            for (ProductEvent event : events) {
+                // Execute
+                byte[] json = jsonSerializer.serialize("product-events", new RecordHeaders(), event);
+                byte[] binary = serializer.serialize("product-events", event);
+
+                // Verify
+                assertThat(binary.length).isLessThan(json.length / 2);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deserialize - Should reject an unknown schema version and reject prices below one cent")
+    void shouldRejectUnknownVersionAndSubCentPrices() {
+        // Define
+        byte[] data = serializer.serialize("product-events", new ProductDeletedEvent("ProductDeletedEvent", 1L, "Mouse", TIMESTAMP));
+        data[0] = 2;
+        ProductCreatedEvent subCentPrice = new ProductCreatedEvent("ProductCreatedEvent", 1L, "Mouse", null, null,
+                new BigDecimal("1.005"), 1, TIMESTAMP, TIMESTAMP);
+
+        // Execute & Verify
+        assertThatThrownBy(() -> deserializer.deserialize("product-events", data))
+                .isInstanceOf(SerializationException.class)
+                .hasRootCauseMessage("Unsupported product event schema version: 2");
+        assertThatThrownBy(() -> serializer.serialize("product-events", subCentPrice))
+                .isInstanceOf(SerializationException.class);
+    }
+}
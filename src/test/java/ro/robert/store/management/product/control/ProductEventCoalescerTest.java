@@ -0,0 +1,137 @@
+package ro.robert.store.management.product.control;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.robert.store.management.outbox.control.OutboxMessageCoalescer;
+import ro.robert.store.management.product.entity.event.ProductDeletedEvent;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+import ro.robert.store.management.product.entity.event.ProductUpdatedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductEventCoalescer Tests")
+class ProductEventCoalescerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private ProductEventDispatcher productEventDispatcher;
+
+    @Mock
+    private ProductEventDispatcher.Reservation reservation;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductEventCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new ProductEventCoalescer(productEventDispatcher, meterRegistry, true, Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Submit - Should send one update with the first old and last new value for a burst of updates")
+    void shouldMergeBurstOfUpdates() {
+        // Define
+        ProductDeletedEvent deleted = new ProductDeletedEvent("ProductDeletedEvent", 1L, "Laptop", NOW.plusSeconds(1));
+
+        // Execute
+        for (int i = 0; i < 20; i++) {
+            coalescer.submit(priceUpdate(1L, 100 + i, 101 + i, NOW.plusNanos(i)), reservation);
+        }
+        coalescer.submit(deleted, reservation);
+
+        // Verify
+        ArgumentCaptor<ProductEvent> events = ArgumentCaptor.forClass(ProductEvent.class);
+        InOrder order = inOrder(productEventDispatcher, reservation);
+        order.verify(productEventDispatcher).dispatch(eq("product-1"), events.capture());
+        order.verify(reservation).dispatch("product-1", deleted);
+        verify(reservation).dispatch(any(), any());
+        ProductUpdatedEvent merged = (ProductUpdatedEvent) events.getValue();
+        assertThat(merged.getOldValue()).isEqualTo("100");
+        assertThat(merged.getNewValue()).isEqualTo("120");
+        assertThat(meterRegistry.get("product.events.coalesced").counter().count()).isEqualTo(19);
+    }
+
+    @Test
+    @DisplayName("Submit - Should keep accepting updates while a dispatch is blocked on a full queue")
+    void shouldNotHoldLockWhileDispatching() throws Exception {
+        // Define
+        CountDownLatch dispatching = new CountDownLatch(1);
+        CountDownLatch queueDrained = new CountDownLatch(1);
+        ProductDeletedEvent deleted = new ProductDeletedEvent("ProductDeletedEvent", 1L, "Laptop", NOW);
+        doAnswer(invocation -> {
+            dispatching.countDown();
+            queueDrained.await();
+            return null;
+        }).when(reservation).dispatch("product-1", deleted);
+        Thread deleting = new Thread(() -> coalescer.submit(deleted, reservation));
+
+        // Execute
+        deleting.start();
+        assertThat(dispatching.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> updating = CompletableFuture.runAsync(() -> {
+            coalescer.submit(priceUpdate(2L, 10, 11, NOW), reservation);
+            coalescer.submit(priceUpdate(2L, 11, 12, NOW), reservation);
+        });
+
+        // Verify
+        updating.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("product.events.coalesced").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("product.events.coalescing.pending").gauge().value()).isEqualTo(1);
+        queueDrained.countDown();
+        deleting.join(5000);
+        assertThat(deleting.isAlive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Coalesce - Should merge relay batch updates within the window and keep deletes as a barrier")
+    void shouldGroupRelayBatch() {
+        // Define
+        List<Object> payloads = new ArrayList<>();
+        payloads.add(priceUpdate(1L, 10, 11, NOW));
+        payloads.add(priceUpdate(2L, 20, 21, NOW));
+        payloads.add(priceUpdate(1L, 11, 12, NOW.plus(Duration.ofMillis(500))));
+        payloads.add(new ProductDeletedEvent("ProductDeletedEvent", 1L, "Laptop", NOW.plus(Duration.ofMillis(600))));
+        payloads.add(priceUpdate(2L, 21, 22, NOW.plusSeconds(2)));
+
+        // Execute
+        List<OutboxMessageCoalescer.Group> groups = coalescer.coalesce(payloads);
+
+        // Verify
+        assertThat(groups).extracting(OutboxMessageCoalescer.Group::members)
+                .containsExactly(List.of(0, 2), List.of(1), List.of(3), List.of(4));
+        ProductUpdatedEvent merged = (ProductUpdatedEvent) groups.get(0).payload();
+        assertThat(merged.getOldValue()).isEqualTo("10");
+        assertThat(merged.getNewValue()).isEqualTo("12");
+        assertThat(((ProductUpdatedEvent) payloads.get(0)).getNewValue()).isEqualTo("11");
+        verify(productEventDispatcher, never()).dispatch(any(), any());
+    }
+
+    private static ProductUpdatedEvent priceUpdate(Long productId, int oldPrice, int newPrice, LocalDateTime timestamp) {
+        return new ProductUpdatedEvent("ProductUpdatedEvent", productId, "Laptop", "PRICE",
+                String.valueOf(oldPrice), String.valueOf(newPrice), timestamp);
+    }
+}
@@ -0,0 +1,112 @@
+package ro.robert.store.management.product.control;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.robert.store.management.exception.entity.ServiceErrorType;
+import ro.robert.store.management.exception.entity.ServiceException;
+import ro.robert.store.management.outbox.control.OutboxMessageSender;
+import ro.robert.store.management.product.entity.ProductEventOverflowPolicy;
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductEventDispatcher Tests")
+class ProductEventDispatcherTest {
+
+    @Mock
+    private OutboxMessageSender messageSender;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("Dispatch - Should discard the oldest queued event when the queue is full with DROP_OLDEST")
+    void shouldDropOldestEventWhenQueueIsFull() {
+        // Define
+        dispatcher = dispatcher(ProductEventOverflowPolicy.DROP_OLDEST);
+        doReturn(CompletableFuture.completedFuture(null)).when(messageSender).send(eq("product-events"), any(), any());
+
+        // Execute
+        dispatcher.dispatch("product-1", created(1L));
+        dispatcher.dispatch("product-2", created(2L));
+        dispatcher.dispatch("product-3", created(3L));
+        dispatcher.start();
+
+        // Verify
+        verify(messageSender, timeout(1000)).send(eq("product-events"), eq("product-2"), any());
+        verify(messageSender, timeout(1000)).send(eq("product-events"), eq("product-3"), any());
+        verify(messageSender, never()).send(any(), eq("product-1"), any());
+        assertThat(meterRegistry.get("product.events.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Dispatch - Should reject the event when the queue is full with FAIL")
+    void shouldRejectEventWhenQueueIsFull() {
+        // Define
+        dispatcher = dispatcher(ProductEventOverflowPolicy.FAIL);
+        dispatcher.dispatch("product-1", created(1L));
+        dispatcher.dispatch("product-2", created(2L));
+
+        // Execute & Verify
+        assertThatThrownBy(() -> dispatcher.dispatch("product-3", created(3L)))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getErrorType())
+                .isEqualTo(ServiceErrorType.EVENT_QUEUE_FULL);
+        assertThat(meterRegistry.get("product.events.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("product.events.queue.depth").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Reserve - Should reject a batch that does not fit as a whole and keep the queued events")
+    void shouldRejectBatchThatDoesNotFit() {
+        // Define
+        dispatcher = dispatcher(ProductEventOverflowPolicy.FAIL);
+        dispatcher.dispatch("product-1", created(1L));
+
+        // Execute & Verify
+        assertThatThrownBy(() -> dispatcher.reserve(2))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getErrorType())
+                .isEqualTo(ServiceErrorType.EVENT_QUEUE_FULL);
+        ProductEventDispatcher.Reservation reservation = dispatcher.reserve(1);
+        assertThatThrownBy(() -> dispatcher.dispatch("product-2", created(2L))).isInstanceOf(ServiceException.class);
+        reservation.release();
+        dispatcher.dispatch("product-3", created(3L));
+        assertThat(meterRegistry.get("product.events.rejected").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("product.events.queue.depth").gauge().value()).isEqualTo(2);
+    }
+
+    private ProductEventDispatcher dispatcher(ProductEventOverflowPolicy overflowPolicy) {
+        return new ProductEventDispatcher(messageSender, Runnable::run, meterRegistry, "product-events", 2,
+                overflowPolicy, Duration.ofMillis(10), Duration.ofSeconds(1));
+    }
+
+    private static ProductCreatedEvent created(Long id) {
+        ProductCreatedEvent event = new ProductCreatedEvent();
+        event.setProductId(id);
+        event.setEventType("ProductCreatedEvent");
+        return event;
+    }
+}
@@ -0,0 +1,97 @@
+package ro.robert.store.management.product.control;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ro.robert.store.management.outbox.control.OutboxWriter;
+import ro.robert.store.management.product.entity.event.ProductCreatedEvent;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductEventPublisher Tests")
+class ProductEventPublisherTest {
+
+    @Mock
+    private ProductEventDispatcher productEventDispatcher;
+
+    @Mock
+    private ProductEventDispatcher.Reservation reservation;
+
+    @Mock
+    private ProductEventCoalescer productEventCoalescer;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    private ProductEventPublisher productEventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        productEventPublisher = new ProductEventPublisher(true, false, "product-events", productEventDispatcher,
+                productEventCoalescer, applicationEventPublisher, outboxWriter);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Publish Events - Should reserve queue space at once and queue the events only after commit")
+    void shouldQueueEventsAfterCommit() {
+        // Define
+        List<ProductEvent> events = List.of(created(1L), created(2L));
+        when(productEventDispatcher.reserve(2)).thenReturn(reservation);
+
+        // Execute
+        productEventPublisher.publishEvents(events);
+        verify(productEventCoalescer, never()).submit(any(), any());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Verify
+        verify(productEventCoalescer).submit(events.get(0), reservation);
+        verify(productEventCoalescer).submit(events.get(1), reservation);
+        verify(reservation).release();
+    }
+
+    @Test
+    @DisplayName("Publish Events - Should give back the reserved queue space and send nothing on rollback")
+    void shouldDiscardEventsOnRollback() {
+        // Define
+        when(productEventDispatcher.reserve(2)).thenReturn(reservation);
+
+        // Execute
+        productEventPublisher.publishEvents(List.of(created(1L), created(2L)));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Verify
+        verify(productEventCoalescer, never()).submit(any(), any());
+        verify(reservation).release();
+    }
+
+    private static ProductCreatedEvent created(Long id) {
+        ProductCreatedEvent event = new ProductCreatedEvent();
+        event.setProductId(id);
+        return event;
+    }
+}
@@ -0,0 +1,96 @@
+package ro.robert.store.management.product.control;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ro.robert.store.management.product.boundary.ProductRepository;
+import ro.robert.store.management.product.entity.ProductEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductExportService Tests")
+class ProductExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    // Configured like the application's mapper, which leaves unfiltered responses complete
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+            .build();
+
+    private ProductExportService productExportService;
+
+    @BeforeEach
+    void setUp() {
+        productExportService = new ProductExportService(productRepository, new ProductMapper(), entityManager, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Export Products - Should write one JSON line per product and flush the stream once")
+    void shouldWriteOneLinePerProductAndFlushOnce() throws Exception {
+        // Define
+        ProductEntity laptop = product(1L, "Laptop");
+        ProductEntity mouse = product(2L, "Mouse");
+        when(productRepository.streamAll()).thenReturn(Stream.of(laptop, mouse));
+        FlushCountingOutputStream out = new FlushCountingOutputStream();
+
+        // Execute
+        long count = productExportService.exportProducts(out);
+
+        // Verify
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("name").asText()).isEqualTo("Laptop");
+        assertThat(objectMapper.readTree(lines[1]).get("name").asText()).isEqualTo("Mouse");
+        assertThat(out.flushes).isEqualTo(1);
+        verify(entityManager).detach(laptop);
+        verify(entityManager).detach(mouse);
+    }
+
+    private static ProductEntity product(Long id, String name) {
+        ProductEntity entity = new ProductEntity();
+        entity.setId(id);
+        entity.setName(name);
+        entity.setCategory("Electronics");
+        entity.setPrice(new BigDecimal("9.99"));
+        entity.setQuantity(5);
+        entity.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        entity.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        entity.setVersion(0L);
+        return entity;
+    }
+
+    private static final class FlushCountingOutputStream extends ByteArrayOutputStream {
+
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
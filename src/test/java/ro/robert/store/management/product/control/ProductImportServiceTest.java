@@ -0,0 +1,117 @@
+package ro.robert.store.management.product.control;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import ro.robert.store.management.product.entity.event.ProductEvent;
+import ro.robert.store.management.product.entity.event.ProductsImportedEvent;
+import ro.robert.store.management.product.entity.response.ProductImportResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductImportService Tests")
+class ProductImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    private ValidatorFactory validatorFactory;
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        productImportService = new ProductImportService(jdbcTemplate, transactionManager, new ObjectMapper(),
+                validatorFactory.getValidator(), productEventPublisher, 2, 10);
+
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 51L);
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> new int[((BatchPreparedStatementSetter) invocation.getArgument(1)).getBatchSize()]);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Import Products - Should insert valid rows in batches and report invalid rows")
+    void shouldInsertValidRowsInBatchesAndReportInvalidRows() throws Exception {
+        // Define
+        InputStream body = ndjson(
+                "{\"name\":\"Laptop\",\"price\":999.99,\"quantity\":5}",
+                "{\"name\":\"\",\"price\":10}",
+                "{\"name\":\"Mouse\",\"price\":19.99}",
+                "{\"name\":\"Keyboard\",\"price\":49.99}");
+
+        // Execute
+        ProductImportResponse response = productImportService.importProducts(body);
+
+        // Verify
+        assertThat(response.getTotalRows()).isEqualTo(4);
+        assertThat(response.getImportedRows()).isEqualTo(3);
+        assertThat(response.getFailedRows()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(2);
+            assertThat(error.getMessage()).contains("Product name is required");
+        });
+
+        ArgumentCaptor<ProductEvent> eventCaptor = ArgumentCaptor.forClass(ProductEvent.class);
+        verify(productEventPublisher, times(2)).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getAllValues())
+                .extracting(event -> ((ProductsImportedEvent) event).getProductIds())
+                .containsExactly(List.of(1L, 2L), List.of(51L));
+    }
+
+    @Test
+    @DisplayName("Import Products - Should stop at malformed JSON and keep the rows read before it")
+    void shouldStopAtMalformedJsonAndKeepEarlierRows() throws Exception {
+        // Define
+        InputStream body = ndjson(
+                "[{\"name\":\"Laptop\",\"price\":999.99},",
+                "{\"name\":\"Mouse\",\"price\":");
+
+        // Execute
+        ProductImportResponse response = productImportService.importProducts(body);
+
+        // Verify
+        assertThat(response.getImportedRows()).isEqualTo(1);
+        assertThat(response.getFailedRows()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(2);
+            assertThat(error.getMessage()).startsWith("Malformed JSON");
+        });
+        verify(productEventPublisher, times(1)).publishEvent(any(ProductsImportedEvent.class));
+    }
+
+    private InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -7,32 +7,56 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
 
 import ro.robert.store.management.exception.entity.ServiceErrorType;
 import ro.robert.store.management.exception.entity.ServiceException;
 import ro.robert.store.management.product.boundary.ProductRepository;
+import ro.robert.store.management.product.entity.ProductCountMode;
+import ro.robert.store.management.product.entity.ProductCursor;
 import ro.robert.store.management.product.entity.ProductEntity;
+import ro.robert.store.management.product.entity.ProductField;
+import ro.robert.store.management.product.entity.ProductSearchCriteria;
+import ro.robert.store.management.product.entity.ProductSortKey;
+import ro.robert.store.management.product.entity.ProductSummary;
+import ro.robert.store.management.product.entity.ProductTextMatch;
 import ro.robert.store.management.product.entity.request.ProductCreateRequest;
+import ro.robert.store.management.product.entity.request.AdjustStockRequest;
 import ro.robert.store.management.product.entity.request.UpdatePriceRequest;
 import ro.robert.store.management.product.entity.request.UpdateStockRequest;
 import ro.robert.store.management.product.entity.request.UnsupportedUpdateRequest;
+import ro.robert.store.management.product.entity.response.ProductBatchResponse;
+import ro.robert.store.management.product.entity.response.ProductCursorPagedResponse;
 import ro.robert.store.management.product.entity.response.ProductPagedResponse;
 import ro.robert.store.management.product.entity.response.ProductResponse;
+import ro.robert.store.management.product.entity.response.ProductTextSearchHit;
+import ro.robert.store.management.product.entity.response.ProductTextSearchResponse;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +69,21 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductCountCache productCountCache;
+
+    @Mock
+    private ProductAutocompleteIndex productAutocompleteIndex;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     @InjectMocks
     private ProductService productService;
 
@@ -57,6 +96,7 @@ class ProductServiceTest {
         testProductEntity = generateProductEntityV1();
         testProductResponse = generateProductResponseV1(testProductEntity.getCreatedAt(), testProductEntity.getUpdatedAt());
         testCreateRequest = generateProductCreateRequestV1();
+        ReflectionTestUtils.setField(productService, "maxPageSize", 100);
     }
 
     @Test
@@ -146,11 +186,240 @@ class ProductServiceTest {
         verify(productMapper, never()).toResponse(any());
     }
 
+    @Test
+    @DisplayName("Get all products - Should skip the count query when count mode is NONE")
+    void shouldSkipCountQueryWhenCountModeIsNone() {
+        // Define
+        Pageable pageable = PageRequest.of(0, 1);
+        Slice<ProductEntity> entitySlice = new SliceImpl<>(List.of(testProductEntity), pageable, true);
+
+        when(productRepository.findAllBy(pageable)).thenReturn(entitySlice);
+        when(productMapper.toResponse(testProductEntity)).thenReturn(testProductResponse);
+
+        // Execute
+        ProductPagedResponse result = productService.getAllProducts(pageable, ProductCountMode.NONE);
+
+        // Verify
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(result.getTotalPages()).isNull();
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.isLast()).isFalse();
+
+        verify(productRepository, never()).findAll(any(Pageable.class));
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Get all products - Should fall back to exact count when no statistics exist")
+    void shouldFallBackToExactCountWhenNoStatisticsExist() {
+        // Define
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<ProductEntity> entitySlice = new SliceImpl<>(List.of(testProductEntity), pageable, false);
+
+        when(productRepository.findAllBy(pageable)).thenReturn(entitySlice);
+        when(productRepository.estimateCount()).thenReturn(-1L);
+        when(productRepository.count()).thenReturn(1L);
+        when(productMapper.toResponse(testProductEntity)).thenReturn(testProductResponse);
+
+        // Execute
+        ProductPagedResponse result = productService.getAllProducts(pageable, ProductCountMode.ESTIMATED);
+
+        // Verify
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getTotalPages()).isEqualTo(1);
+        assertThat(result.isLast()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Get all products - Should load only the requested fields when fields are selected")
+    void shouldLoadOnlyRequestedFieldsWhenFieldsAreSelected() {
+        // Define
+        Pageable pageable = PageRequest.of(0, 1);
+        Set<ProductField> fields = ProductField.parse("name,price");
+        ProductSummary first = new ProductSummary(1L, "A Product", null, null, new BigDecimal("10.00"), null, null, null, null);
+        ProductSummary second = new ProductSummary(2L, "B Product", null, null, new BigDecimal("20.00"), null, null, null, null);
+
+        when(productRepository.findPage(fields, pageable, 2)).thenReturn(List.of(first, second));
+        when(productRepository.count()).thenReturn(2L);
+        when(productMapper.toSummaryResponse(first)).thenReturn(testProductResponse);
+
+        // Execute
+        ProductPagedResponse result = productService.getAllProducts(pageable, ProductCountMode.EXACT, fields);
+
+        // Verify
+        assertThat(fields).containsExactly(ProductField.ID, ProductField.NAME, ProductField.PRICE);
+        assertThat(result.getContent()).containsExactly(testProductResponse);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getTotalPages()).isEqualTo(2);
+        assertThat(result.isHasNext()).isTrue();
+
+        verify(productRepository, never()).findAll(any(Pageable.class));
+        verify(productMapper, never()).toSummaryResponse(second);
+    }
+
+    @Test
+    @DisplayName("Get all products - Should throw ServiceException for a page size above the maximum when fields are selected")
+    void shouldThrowServiceExceptionForOversizedProjectionPage() {
+        // Define
+        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
+        Set<ProductField> fields = ProductField.parse("name,price");
+
+        // Execute & Verify
+        var thrownException = assertThrows(ServiceException.class,
+                () -> productService.getAllProducts(pageable, ProductCountMode.EXACT, fields));
+
+        assertThat(thrownException.getErrorType()).isEqualTo(ServiceErrorType.VALIDATION_ERROR);
+        verify(productRepository, never()).findPage(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Get products by cursor - Should return next cursor when more products exist")
+    void shouldReturnNextCursorWhenMoreProductsExist() {
+        // Define
+        ProductEntity secondEntity = generateProductEntityV1();
+        secondEntity.setId(2L);
+        secondEntity.setName("Z Product");
+
+        when(productRepository.findPageAfter(ProductSortKey.NAME, Sort.Direction.ASC, null, 2))
+                .thenReturn(List.of(testProductEntity, secondEntity));
+        when(productMapper.toResponse(testProductEntity)).thenReturn(testProductResponse);
+
+        // Execute
+        ProductCursorPagedResponse result = productService.getProductsAfter(null, 1, "name", Sort.Direction.ASC);
+
+        // Verify
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isTrue();
+
+        ProductCursor nextCursor = ProductCursor.decode(result.getNextCursor());
+        assertThat(nextCursor.sortKey()).isEqualTo(ProductSortKey.NAME);
+        assertThat(nextCursor.lastValue()).isEqualTo("Test Product");
+        assertThat(nextCursor.lastId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Get products by cursor - Should seek past the given cursor using its sort")
+    void shouldSeekPastGivenCursorUsingItsSort() {
+        // Define
+        ProductCursor cursor = new ProductCursor(ProductSortKey.PRICE, Sort.Direction.DESC, new BigDecimal("120.50"), 7L);
+
+        when(productRepository.findPageAfter(ProductSortKey.PRICE, Sort.Direction.DESC, cursor, 11))
+                .thenReturn(List.of(testProductEntity));
+        when(productMapper.toResponse(testProductEntity)).thenReturn(testProductResponse);
+
+        // Execute
+        ProductCursorPagedResponse result = productService.getProductsAfter(cursor.encode(), 10, "name", Sort.Direction.ASC);
+
+        // Verify
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Get products by cursor - Should throw ServiceException for malformed cursor")
+    void shouldThrowServiceExceptionForMalformedCursor() {
+        // Execute & Verify
+        var thrownException = assertThrows(ServiceException.class,
+                () -> productService.getProductsAfter("not-a-cursor", 10, null, Sort.Direction.ASC));
+
+        assertThat(thrownException.getErrorType()).isEqualTo(ServiceErrorType.INVALID_CURSOR);
+        verify(productRepository, never()).findPageAfter(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Get products by cursor - Should throw ServiceException for a page size above the maximum")
+    void shouldThrowServiceExceptionForOversizedCursorPage() {
+        // Execute & Verify
+        var thrownException = assertThrows(ServiceException.class,
+                () -> productService.getProductsAfter(null, Integer.MAX_VALUE, null, Sort.Direction.ASC));
+
+        assertThat(thrownException.getErrorType()).isEqualTo(ServiceErrorType.VALIDATION_ERROR);
+        verify(productRepository, never()).findPageAfter(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Search products - Should return matching products with a price cursor")
+    void shouldReturnMatchingProductsWithPriceCursor() {
+        // Define
+        ProductSearchCriteria criteria = new ProductSearchCriteria("Electronics", new BigDecimal("50"), null, true, "te");
+        ProductSummary first = new ProductSummary(1L, "Test Product", "Electronics", new BigDecimal("99.99"), 10,
+                testProductEntity.getCreatedAt(), testProductEntity.getUpdatedAt(), 0L);
+        ProductSummary second = new ProductSummary(2L, "Tablet", "Electronics", new BigDecimal("149.99"), 5,
+                testProductEntity.getCreatedAt(), testProductEntity.getUpdatedAt(), 0L);
+
+        when(productRepository.searchPageAfter(criteria, false, ProductSortKey.PRICE, Sort.Direction.ASC, null, 2))
+                .thenReturn(List.of(first, second));
+        when(productMapper.toSummaryResponse(first)).thenReturn(testProductResponse);
+
+        // Execute
+        ProductCursorPagedResponse result = productService.searchProducts(criteria, false, null, 1, "price", Sort.Direction.ASC);
+
+        // Verify
+        assertThat(result.getContent()).containsExactly(testProductResponse);
+        assertThat(result.isHasNext()).isTrue();
+
+        ProductCursor nextCursor = ProductCursor.decode(result.getNextCursor());
+        assertThat(nextCursor.sortKey()).isEqualTo(ProductSortKey.PRICE);
+        assertThat(nextCursor.lastValue()).isEqualTo(new BigDecimal("99.99"));
+        assertThat(nextCursor.lastId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Full-text search products - Should return scored matches and fetch one extra to detect the next page")
+    void shouldReturnScoredMatchesAndDetectNextPage() {
+        // Define
+        ProductSummary first = new ProductSummary(1L, "Test Product", "Electronics", new BigDecimal("99.99"), 10,
+                testProductEntity.getCreatedAt(), testProductEntity.getUpdatedAt(), 0L);
+        ProductSummary second = new ProductSummary(2L, "Tablet", "Electronics", new BigDecimal("149.99"), 5,
+                testProductEntity.getCreatedAt(), testProductEntity.getUpdatedAt(), 0L);
+
+        when(productRepository.searchText("test", 2, 3))
+                .thenReturn(List.of(new ProductTextMatch(first, 0.8), new ProductTextMatch(second, 0.4),
+                        new ProductTextMatch(second, 0.1)));
+        when(productMapper.toSummaryResponse(any(ProductSummary.class))).thenReturn(testProductResponse);
+
+        // Execute
+        ProductTextSearchResponse result = productService.searchProductsByText("test", 1, 2);
+
+        // Verify
+        assertThat(result.getContent()).extracting(ProductTextSearchHit::getScore).containsExactly(0.8, 0.4);
+        assertThat(result.getPage()).isEqualTo(1);
+        assertThat(result.isHasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Search products by text - Should throw ServiceException when the page offset does not fit")
+    void shouldThrowServiceExceptionForOutOfRangeTextSearchPage() {
+        // Execute & Verify
+        var thrownException = assertThrows(ServiceException.class,
+                () -> productService.searchProductsByText("test", Integer.MAX_VALUE, 10));
+
+        assertThat(thrownException.getErrorType()).isEqualTo(ServiceErrorType.VALIDATION_ERROR);
+        verify(productRepository, never()).searchText(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Search products - Should reject a minimum price above the maximum price")
+    void shouldRejectMinimumPriceAboveMaximumPrice() {
+        // Define
+        ProductSearchCriteria criteria = new ProductSearchCriteria(null, new BigDecimal("100"), new BigDecimal("10"), false, null);
+
+        // Execute & Verify
+        var thrownException = assertThrows(ServiceException.class,
+                () -> productService.searchProducts(criteria, false, null, 10, null, Sort.Direction.ASC));
+
+        assertThat(thrownException.getErrorType()).isEqualTo(ServiceErrorType.VALIDATION_ERROR);
+        verifyNoInteractions(productRepository);
+    }
+
     @Test
     @DisplayName("Get Product By ID - Should return product when found")
     void shouldReturnProductWhenFound() {
         // Define
         Long productId = 1L;
+        stubCacheMiss(productId);
         when(productRepository.findById(productId)).thenReturn(Optional.of(testProductEntity));
         when(productMapper.toResponse(testProductEntity)).thenReturn(testProductResponse);
 
@@ -171,6 +440,7 @@ class ProductServiceTest {
     void shouldThrowServiceExceptionWhenProductNotFound() {
         // Define
         Long productId = 999L;
+        stubCacheMiss(productId);
         when(productRepository.findById(productId)).thenReturn(Optional.empty());
 
         // Execute & Verify
@@ -181,6 +451,64 @@ class ProductServiceTest {
         verify(productMapper, never()).toResponse(any());
     }
 
+    @Test
+    @DisplayName("Get Product By ID - Should serve cached product without querying the repository")
+    void shouldServeCachedProductWithoutQueryingRepository() {
+        // Define
+        Long productId = 1L;
+        when(productCache.get(eq(productId), any())).thenReturn(testProductResponse);
+
+        // Execute
+        ProductResponse result = productService.getProductById(productId);
+
+        // Verify
+        assertThat(result).isSameAs(testProductResponse);
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Get Products By IDs - Should load only cache misses and report missing IDs in request order")
+    @SuppressWarnings("unchecked")
+    void shouldLoadOnlyCacheMissesAndReportMissingIds() {
+        // Define
+        ReflectionTestUtils.setField(productService, "maxBatchIds", 10);
+        ProductEntity thirdEntity = generateProductEntityV1();
+        thirdEntity.setId(3L);
+        ProductResponse thirdResponse = generateProductResponseV1(LocalDateTime.now(), LocalDateTime.now());
+        thirdResponse.setId(3L);
+
+        when(productCache.getAll(any(), any())).thenAnswer(invocation -> {
+            // Product 1 is cached, the others are misses
+            Map<Long, ProductResponse> found = new HashMap<>(Map.of(1L, testProductResponse));
+            found.putAll((Map<Long, ProductResponse>) invocation.getArgument(1, Function.class).apply(Set.of(3L, 2L)));
+            return found;
+        });
+        when(productRepository.findAllById(Set.of(3L, 2L))).thenReturn(List.of(thirdEntity));
+        when(productMapper.toResponse(thirdEntity)).thenReturn(thirdResponse);
+
+        // Execute
+        ProductBatchResponse result = productService.getProductsByIds(List.of(3L, 1L, 3L, 2L));
+
+        // Verify
+        assertThat(result.getContent()).containsExactly(thirdResponse, testProductResponse);
+        assertThat(result.getMissingIds()).containsExactly(2L);
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Get Products By IDs - Should throw ServiceException when more IDs than allowed are requested")
+    void shouldThrowServiceExceptionWhenTooManyIdsAreRequested() {
+        // Define
+        ReflectionTestUtils.setField(productService, "maxBatchIds", 2);
+
+        // Execute & Verify
+        var thrownException = assertThrows(ServiceException.class,
+                () -> productService.getProductsByIds(List.of(1L, 2L, 3L)));
+
+        assertThat(thrownException.getErrorType()).isEqualTo(ServiceErrorType.VALIDATION_ERROR);
+        verifyNoInteractions(productCache, productRepository);
+    }
+
     @Test
     @DisplayName("Update Product - Should update product price successfully")
     void shouldUpdateProductPriceSuccessfully() {
@@ -193,7 +521,7 @@ class ProductServiceTest {
         updatedEntity.setPrice(newPrice);
 
         when(productRepository.findById(productId)).thenReturn(Optional.of(testProductEntity));
-        when(productRepository.save(testProductEntity)).thenReturn(updatedEntity);
+        when(productRepository.saveAndFlush(testProductEntity)).thenReturn(updatedEntity);
         when(productMapper.toResponse(updatedEntity)).thenReturn(testProductResponse);
 
         // Execute
@@ -204,7 +532,7 @@ class ProductServiceTest {
         assertThat(testProductEntity.getPrice()).isEqualTo(newPrice);
 
         verify(productRepository).findById(productId);
-        verify(productRepository).save(testProductEntity);
+        verify(productRepository).saveAndFlush(testProductEntity);
         verify(productMapper).toResponse(updatedEntity);
     }
 
@@ -220,7 +548,7 @@ class ProductServiceTest {
         updatedEntity.setQuantity(newQuantity);
 
         when(productRepository.findById(productId)).thenReturn(Optional.of(testProductEntity));
-        when(productRepository.save(testProductEntity)).thenReturn(updatedEntity);
+        when(productRepository.saveAndFlush(testProductEntity)).thenReturn(updatedEntity);
         when(productMapper.toResponse(updatedEntity)).thenReturn(testProductResponse);
 
         // Execute
@@ -231,10 +559,91 @@ class ProductServiceTest {
         assertThat(testProductEntity.getQuantity()).isEqualTo(newQuantity);
 
         verify(productRepository).findById(productId);
-        verify(productRepository).save(testProductEntity);
+        verify(productRepository).saveAndFlush(testProductEntity);
         verify(productMapper).toResponse(updatedEntity);
     }
 
+    @Test
+    @DisplayName("Update Product - Should adjust stock with a single conditional update")
+    void shouldAdjustStockWithSingleConditionalUpdate() {
+        // Define
+        Long productId = 1L;
+        AdjustStockRequest updateRequest = new AdjustStockRequest("AdjustStockRequest", -3);
+
+        ProductEntity updatedEntity = generateProductEntityV1();
+        updatedEntity.setQuantity(7);
+
+        when(productRepository.adjustQuantity(productId, -3, null)).thenReturn(Optional.of(updatedEntity));
+        when(productMapper.toResponse(updatedEntity)).thenReturn(testProductResponse);
+
+        // Execute
+        ProductResponse result = productService.updateProduct(productId, updateRequest);
+
+        // Verify
+        assertThat(result).isNotNull();
+        verify(productMapper).toUpdatedEvent(updatedEntity, "QUANTITY", "10", "7");
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Update Product - Should adjust stock when the current version is any of the expected versions")
+    void shouldAdjustStockWhenAnyExpectedVersionMatches() {
+        // Define
+        Long productId = 1L;
+        AdjustStockRequest updateRequest = new AdjustStockRequest("AdjustStockRequest", -3);
+
+        ProductEntity updatedEntity = generateProductEntityV1();
+        updatedEntity.setQuantity(7);
+
+        when(productRepository.findVersionById(productId)).thenReturn(Optional.of(3L));
+        when(productRepository.adjustQuantity(productId, -3, 3L)).thenReturn(Optional.of(updatedEntity));
+        when(productMapper.toResponse(updatedEntity)).thenReturn(testProductResponse);
+
+        // Execute
+        ProductResponse result = productService.updateProduct(productId, updateRequest, Set.of(2L, 3L));
+
+        // Verify
+        assertThat(result).isNotNull();
+        verify(productRepository).adjustQuantity(productId, -3, 3L);
+    }
+
+    @Test
+    @DisplayName("Update Product - Should throw ServiceException when stock is insufficient for adjustment")
+    void shouldThrowServiceExceptionWhenStockIsInsufficient() {
+        // Define
+        Long productId = 1L;
+        AdjustStockRequest updateRequest = new AdjustStockRequest("AdjustStockRequest", -100);
+
+        when(productRepository.adjustQuantity(productId, -100, null)).thenReturn(Optional.empty());
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProductEntity));
+
+        // Execute & Verify
+        var thrownException = assertThrows(ServiceException.class, () -> productService.updateProduct(productId, updateRequest));
+
+        assertThat(thrownException.getErrorType()).isEqualTo(ServiceErrorType.INSUFFICIENT_STOCK);
+        verify(productEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Update Product - Should throw ServiceException when If-Match version is outdated")
+    void shouldThrowServiceExceptionWhenExpectedVersionIsOutdated() {
+        // Define
+        Long productId = 1L;
+        testProductEntity.setVersion(3L);
+        UpdatePriceRequest updateRequest = new UpdatePriceRequest("UpdatePriceRequest", new BigDecimal("149.99"));
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProductEntity));
+
+        // Execute & Verify
+        var thrownException = assertThrows(ServiceException.class, () -> productService.updateProduct(productId, updateRequest, Set.of(1L, 2L)));
+
+        assertThat(thrownException.getErrorType()).isEqualTo(ServiceErrorType.PRODUCT_VERSION_MISMATCH);
+        assertThat(testProductEntity.getPrice()).isEqualTo(new BigDecimal("99.99"));
+        verify(productRepository, never()).saveAndFlush(any());
+        verify(productEventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     @DisplayName("Update Product - Should throw ServiceException for unsupported update type")
     void shouldThrowServiceExceptionForUnsupportedUpdateType() {
@@ -250,7 +659,7 @@ class ProductServiceTest {
         assertThat(thrownException.getErrorType()).isEqualTo(ServiceErrorType.UNSUPPORTED_UPDATE_TYPE);
 
         verify(productRepository).findById(productId);
-        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).saveAndFlush(any());
         verify(productMapper, never()).toResponse(any());
     }
 
@@ -269,7 +678,7 @@ class ProductServiceTest {
         assertThat(thrownException.getErrorType()).isEqualTo(ServiceErrorType.PRODUCT_NOT_FOUND);
 
         verify(productRepository).findById(productId);
-        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).saveAndFlush(any());
         verify(productMapper, never()).toResponse(any());
     }
 
@@ -304,6 +713,12 @@ class ProductServiceTest {
         verify(productRepository, never()).delete(any());
     }
 
+    @SuppressWarnings("unchecked")
+    private void stubCacheMiss(Long productId) {
+        when(productCache.get(eq(productId), any())).thenAnswer(invocation ->
+                invocation.getArgument(1, Function.class).apply(productId));
+    }
+
     private ProductEntity generateProductEntityV1() {
         ProductEntity productEntity = new ProductEntity();
         productEntity.setId(1L);
@@ -0,0 +1,95 @@
+package ro.robert.store.management.user.control;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingAuthenticationProvider Tests")
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private UserCredentialCache credentialCache;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        credentialCache = new UserCredentialCache(true, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        provider = new CachingAuthenticationProvider(delegate, credentialCache);
+    }
+
+    @Test
+    @DisplayName("Authenticate - Should verify credentials only once while cached")
+    void shouldVerifyCredentialsOnlyOnceWhileCached() {
+        // Define
+        when(delegate.authenticate(any())).thenReturn(authenticated("manager"));
+
+        // Execute
+        Authentication first = provider.authenticate(request("manager", "secret"));
+        Authentication second = provider.authenticate(request("manager", "secret"));
+
+        // Verify
+        assertThat(first.isAuthenticated()).isTrue();
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("manager");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_MANAGER");
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Authenticate - Should not serve cached entry for a different password")
+    void shouldNotServeCachedEntryForDifferentPassword() {
+        // Define
+        when(delegate.authenticate(any()))
+                .thenReturn(authenticated("manager"))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+        provider.authenticate(request("manager", "secret"));
+
+        // Execute & Verify
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(request("manager", "wrong")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Authenticate - Should verify again after the user is invalidated")
+    void shouldVerifyAgainAfterInvalidation() {
+        // Define
+        when(delegate.authenticate(any())).thenReturn(authenticated("manager"));
+        provider.authenticate(request("manager", "secret"));
+
+        // Execute
+        credentialCache.invalidate("manager");
+        provider.authenticate(request("manager", "secret"));
+
+        // Verify
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private UsernamePasswordAuthenticationToken request(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+
+    private UsernamePasswordAuthenticationToken authenticated(String username) {
+        return UsernamePasswordAuthenticationToken.authenticated(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_MANAGER")));
+    }
+}
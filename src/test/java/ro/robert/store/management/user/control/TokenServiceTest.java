@@ -0,0 +1,88 @@
+package ro.robert.store.management.user.control;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenService Tests")
+class TokenServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret";
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(SECRET, Duration.ofMinutes(15), new ObjectMapper(), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Parse Token - Should restore username and roles from an issued token")
+    void shouldRestoreUsernameAndRolesFromIssuedToken() {
+        // Define
+        String token = tokenService.issueToken(authenticated("manager", "ROLE_MANAGER"));
+
+        // Execute
+        Authentication result = tokenService.parseToken(token);
+
+        // Verify
+        assertThat(result).isNotNull();
+        assertThat(result.isAuthenticated()).isTrue();
+        assertThat(result.getName()).isEqualTo("manager");
+        assertThat(result.getAuthorities()).extracting("authority").containsExactly("ROLE_MANAGER");
+    }
+
+    @Test
+    @DisplayName("Parse Token - Should reject a token with a tampered payload")
+    void shouldRejectTamperedToken() {
+        // Define
+        String token = tokenService.issueToken(authenticated("user", "ROLE_USER"));
+        String forgedPayload = tokenService.issueToken(authenticated("user", "ROLE_ADMIN")).split("\\.")[1];
+        String[] parts = token.split("\\.");
+
+        // Execute
+        Authentication result = tokenService.parseToken(parts[0] + "." + forgedPayload + "." + parts[2]);
+
+        // Verify
+        assertThat(result).isNull();
+    }
+
+    @Test
+    @DisplayName("Parse Token - Should reject an expired token")
+    void shouldRejectExpiredToken() {
+        // Define
+        String token = tokenService.issueToken(authenticated("manager", "ROLE_MANAGER"));
+        TokenService laterTokenService = new TokenService(SECRET, Duration.ofMinutes(15), new ObjectMapper(),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+
+        // Execute
+        Authentication result = laterTokenService.parseToken(token);
+
+        // Verify
+        assertThat(result).isNull();
+    }
+
+    @Test
+    @DisplayName("Parse Token - Should reject a malformed token")
+    void shouldRejectMalformedToken() {
+        assertThat(tokenService.parseToken("not-a-token")).isNull();
+        assertThat(tokenService.parseToken("a.b.c")).isNull();
+    }
+
+    private Authentication authenticated(String username, String role) {
+        return UsernamePasswordAuthenticationToken.authenticated(username, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+}